@@ -0,0 +1,433 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.analysis;
+
+import static io.codeprimate.examples.redis.embedded.connection.RedisCommandSupport.executeForInteger;
+import static io.codeprimate.examples.redis.embedded.connection.RedisCommandSupport.toBytes;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+import io.codeprimate.examples.redis.embedded.analysis.KeyspaceReport.EncodingInefficiency;
+import io.codeprimate.examples.redis.embedded.analysis.KeyspaceReport.KeyStatistics;
+import io.codeprimate.examples.redis.embedded.analysis.KeyspaceReport.PatternStatistics;
+
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ValueEncoding;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Analyzer walking a Redis keyspace incrementally to report memory usage, hot keys and encoding inefficiencies.
+ * <p/>
+ * Keys are visited with {@literal SCAN} using a bounded {@literal COUNT}, so the server never does more than
+ * a small, fixed amount of work per command and continues to serve other clients between batches. For each key,
+ * {@literal MEMORY USAGE} (with a bounded number of {@literal SAMPLES}), {@literal OBJECT ENCODING} and, when the
+ * server uses an LFU {@literal maxmemory-policy}, {@literal OBJECT FREQ} are sampled.
+ * <p/>
+ * Use {@link #from(RedisTemplate)} to analyze the keyspace through the connection factory
+ * of the {@literal embeddedRedisTemplate}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.analysis.KeyspaceReport
+ * @see org.springframework.data.redis.connection.RedisConnectionFactory
+ * @see org.springframework.data.redis.core.ScanOptions
+ * @since 0.1.0
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@SuppressWarnings("unused")
+public class KeyspaceAnalyzer {
+
+	public static final int DEFAULT_MEMORY_USAGE_SAMPLES = 5;
+	public static final int DEFAULT_SCAN_COUNT = 100;
+	public static final int DEFAULT_TOP_KEYS = 20;
+
+	public static final String DEFAULT_PATTERN = "*";
+
+	private static final Map<DataType, List<String>> COMPACT_ENCODING_LIMIT_PARAMETERS = Map.of(
+		DataType.HASH, List.of("hash-max-listpack-entries", "hash-max-ziplist-entries"),
+		DataType.SET, List.of("set-max-listpack-entries"),
+		DataType.ZSET, List.of("zset-max-listpack-entries", "zset-max-ziplist-entries")
+	);
+
+	private static final Map<DataType, String> NON_COMPACT_ENCODINGS = Map.of(
+		DataType.HASH, "hashtable",
+		DataType.SET, "hashtable",
+		DataType.ZSET, "skiplist"
+	);
+
+	public static KeyspaceAnalyzer.Builder from(@NonNull RedisTemplate<?, ?> redisTemplate) {
+		Assert.notNull(redisTemplate, "RedisTemplate is required");
+		return from(redisTemplate.getRequiredConnectionFactory()).usingKeySerializer(redisTemplate.getKeySerializer());
+	}
+
+	public static KeyspaceAnalyzer.Builder from(@NonNull RedisConnectionFactory connectionFactory) {
+		Assert.notNull(connectionFactory, "RedisConnectionFactory is required");
+		return new Builder(connectionFactory);
+	}
+
+	/**
+	 * Derives a pattern from the given {@link String key} by replacing each {@literal :}-delimited segment
+	 * containing a digit (e.g. an ID or UUID) with {@literal *}.
+	 *
+	 * @param key {@link String} to convert into a key pattern.
+	 * @return the key pattern for the given {@link String key}.
+	 */
+	public static String toKeyPattern(@NonNull String key) {
+
+		return Arrays.stream(key.split(":", -1))
+			.map(segment -> segment.chars().anyMatch(Character::isDigit) ? "*" : segment)
+			.collect(Collectors.joining(":"));
+	}
+
+	private final Duration pauseBetweenBatches;
+
+	private final Function<String, String> keyPatternFunction;
+
+	private final int memoryUsageSamples;
+	private final int scanCount;
+	private final int topKeys;
+
+	private final long maximumKeys;
+
+	private final RedisConnectionFactory connectionFactory;
+
+	@Nullable
+	private final RedisSerializer<?> keySerializer;
+
+	private final String pattern;
+
+	protected KeyspaceAnalyzer(Builder builder) {
+		this.connectionFactory = builder.getConnectionFactory();
+		this.keyPatternFunction = builder.getKeyPatternFunction();
+		this.keySerializer = builder.getKeySerializer();
+		this.maximumKeys = builder.getMaximumKeys();
+		this.memoryUsageSamples = builder.getMemoryUsageSamples();
+		this.pattern = builder.getPattern();
+		this.pauseBetweenBatches = builder.getPauseBetweenBatches();
+		this.scanCount = builder.getScanCount();
+		this.topKeys = builder.getTopKeys();
+	}
+
+	public KeyspaceReport analyze() {
+
+		long startTime = System.nanoTime();
+
+		Analysis analysis = new Analysis();
+
+		try (RedisConnection connection = getConnectionFactory().getConnection()) {
+
+			Map<DataType, Long> compactEncodingLimits = resolveCompactEncodingLimits(connection);
+
+			ScanOptions scanOptions = ScanOptions.scanOptions()
+				.match(getPattern())
+				.count(getScanCount())
+				.build();
+
+			// Pause after every batch of keys returned by the cursor, including keys that expired or were deleted
+			// before they could be analyzed, so the pause cadence does not stretch out on a volatile keyspace.
+			try (Cursor<byte[]> cursor = connection.keyCommands().scan(scanOptions)) {
+				long returnedKeys = 0L;
+				while (cursor.hasNext() && analysis.scannedKeys < getMaximumKeys()) {
+					analyzeKey(connection, cursor.next(), compactEncodingLimits, analysis);
+					if (++returnedKeys % getScanCount() == 0) {
+						pause();
+					}
+				}
+			}
+		}
+
+		return analysis.toReport(Duration.ofNanos(System.nanoTime() - startTime));
+	}
+
+	private void analyzeKey(RedisConnection connection, byte[] key, Map<DataType, Long> compactEncodingLimits,
+			Analysis analysis) {
+
+		DataType type = connection.keyCommands().type(key);
+		Long memoryUsage = executeForInteger(connection, "MEMORY", toBytes("USAGE"), key,
+			toBytes("SAMPLES"), toBytes(String.valueOf(getMemoryUsageSamples())));
+
+		// The key expired or was deleted after it was scanned
+		if (type == null || DataType.NONE.equals(type) || memoryUsage == null) {
+			return;
+		}
+
+		String keyName = toKeyName(key);
+		String encoding = resolveEncoding(connection, key);
+		Long frequency = analysis.sampleFrequency ? resolveFrequency(connection, key, analysis) : null;
+
+		KeyStatistics keyStatistics = new KeyStatistics(keyName, type, encoding, memoryUsage, frequency);
+
+		analysis.add(keyStatistics, getKeyPatternFunction().apply(keyName));
+
+		Long sizeLimit = compactEncodingLimits.get(type);
+
+		if (sizeLimit != null && NON_COMPACT_ENCODINGS.get(type).equals(encoding)) {
+			long size = resolveSize(connection, type, key);
+			if (size <= sizeLimit) {
+				analysis.encodingInefficiencies.add(new EncodingInefficiency(keyName, type, encoding, size, sizeLimit,
+					memoryUsage));
+			}
+		}
+	}
+
+	private Map<DataType, Long> resolveCompactEncodingLimits(RedisConnection connection) {
+
+		Map<DataType, Long> compactEncodingLimits = new EnumMap<>(DataType.class);
+
+		COMPACT_ENCODING_LIMIT_PARAMETERS.forEach((type, parameters) -> parameters.stream()
+			.map(parameter -> resolveConfigValue(connection, parameter))
+			.filter(StringUtils::hasText)
+			.findFirst()
+			.map(Long::valueOf)
+			.ifPresent(limit -> compactEncodingLimits.put(type, limit)));
+
+		return compactEncodingLimits;
+	}
+
+	@Nullable
+	private String resolveConfigValue(RedisConnection connection, String parameter) {
+		Properties config = connection.serverCommands().getConfig(parameter);
+		return config != null ? config.getProperty(parameter) : null;
+	}
+
+	@Nullable
+	private String resolveEncoding(RedisConnection connection, byte[] key) {
+		ValueEncoding encoding = connection.keyCommands().encodingOf(key);
+		return encoding != null ? encoding.raw() : null;
+	}
+
+	@Nullable
+	private Long resolveFrequency(RedisConnection connection, byte[] key, Analysis analysis) {
+
+		try {
+			return executeForInteger(connection, "OBJECT", toBytes("FREQ"), key);
+		}
+		catch (RuntimeException e) {
+			// OBJECT FREQ is only available when the server uses an LFU maxmemory-policy
+			analysis.sampleFrequency = false;
+			if (log.isDebugEnabled()) {
+				log.debug("Access frequency is not available; hot keys will not be reported", e);
+			}
+			return null;
+		}
+	}
+
+	private long resolveSize(RedisConnection connection, DataType type, byte[] key) {
+
+		Long size = switch (type) {
+			case HASH -> connection.hashCommands().hLen(key);
+			case SET -> connection.setCommands().sCard(key);
+			case ZSET -> connection.zSetCommands().zCard(key);
+			default -> null;
+		};
+
+		return size != null ? size : 0L;
+	}
+
+	private String toKeyName(byte[] key) {
+
+		if (this.keySerializer != null) {
+			try {
+				return String.valueOf(this.keySerializer.deserialize(key));
+			}
+			catch (RuntimeException ignore) {
+				// Key was not written with the configured serializer
+			}
+		}
+
+		return new String(key, StandardCharsets.UTF_8);
+	}
+
+	private void pause() {
+
+		if (!getPauseBetweenBatches().isZero()) {
+			try {
+				Thread.sleep(getPauseBetweenBatches().toMillis());
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private class Analysis {
+
+		private boolean sampleFrequency = true;
+
+		private long scannedKeys;
+		private long totalMemoryUsage;
+
+		private final List<EncodingInefficiency> encodingInefficiencies = new ArrayList<>();
+
+		private final Map<String, PatternStatistics> memoryByPattern = new LinkedHashMap<>();
+
+		private final PriorityQueue<KeyStatistics> hottestKeys =
+			newTopKeysQueue(keyStatistics -> keyStatistics.frequency() != null ? keyStatistics.frequency() : 0L);
+
+		private final PriorityQueue<KeyStatistics> largestKeys = newTopKeysQueue(KeyStatistics::memoryUsage);
+
+		private PriorityQueue<KeyStatistics> newTopKeysQueue(ToLongFunction<KeyStatistics> measure) {
+			return new PriorityQueue<>(Comparator.comparingLong(measure));
+		}
+
+		void add(KeyStatistics keyStatistics, String keyPattern) {
+
+			this.scannedKeys++;
+			this.totalMemoryUsage += keyStatistics.memoryUsage();
+
+			this.memoryByPattern.compute(keyPattern, (pattern, statistics) ->
+				(statistics != null ? statistics : new PatternStatistics(pattern, 0L, 0L))
+					.add(keyStatistics.memoryUsage()));
+
+			offer(this.largestKeys, keyStatistics);
+
+			if (keyStatistics.frequency() != null) {
+				offer(this.hottestKeys, keyStatistics);
+			}
+		}
+
+		private void offer(PriorityQueue<KeyStatistics> topKeys, KeyStatistics keyStatistics) {
+
+			topKeys.offer(keyStatistics);
+
+			if (topKeys.size() > getTopKeys()) {
+				topKeys.poll();
+			}
+		}
+
+		KeyspaceReport toReport(Duration duration) {
+
+			Map<String, PatternStatistics> sortedMemoryByPattern = new LinkedHashMap<>();
+
+			this.memoryByPattern.values().stream()
+				.sorted(Comparator.comparingLong(PatternStatistics::memoryUsage).reversed())
+				.forEach(statistics -> sortedMemoryByPattern.put(statistics.pattern(), statistics));
+
+			return new KeyspaceReport(this.scannedKeys, this.totalMemoryUsage, duration,
+				descending(this.largestKeys), descending(this.hottestKeys), sortedMemoryByPattern,
+				List.copyOf(this.encodingInefficiencies));
+		}
+
+		private List<KeyStatistics> descending(PriorityQueue<KeyStatistics> topKeys) {
+			List<KeyStatistics> keys = new ArrayList<>(topKeys);
+			keys.sort(topKeys.comparator().reversed());
+			return keys;
+		}
+	}
+
+	@Getter(AccessLevel.PROTECTED)
+	public static class Builder {
+
+		private Duration pauseBetweenBatches = Duration.ZERO;
+
+		private Function<String, String> keyPatternFunction = KeyspaceAnalyzer::toKeyPattern;
+
+		private int memoryUsageSamples = DEFAULT_MEMORY_USAGE_SAMPLES;
+		private int scanCount = DEFAULT_SCAN_COUNT;
+		private int topKeys = DEFAULT_TOP_KEYS;
+
+		private long maximumKeys = Long.MAX_VALUE;
+
+		private final RedisConnectionFactory connectionFactory;
+
+		private RedisSerializer<?> keySerializer;
+
+		private String pattern = DEFAULT_PATTERN;
+
+		protected Builder(RedisConnectionFactory connectionFactory) {
+			this.connectionFactory = connectionFactory;
+		}
+
+		public Builder usingKeyPatternFunction(@NonNull Function<String, String> keyPatternFunction) {
+			Assert.notNull(keyPatternFunction, "Key pattern Function is required");
+			this.keyPatternFunction = keyPatternFunction;
+			return this;
+		}
+
+		public Builder usingKeySerializer(@Nullable RedisSerializer<?> keySerializer) {
+			this.keySerializer = keySerializer;
+			return this;
+		}
+
+		public Builder usingMaximumKeys(long maximumKeys) {
+			Assert.isTrue(maximumKeys > 0L, () -> "Maximum keys [%d] must be greater than 0".formatted(maximumKeys));
+			this.maximumKeys = maximumKeys;
+			return this;
+		}
+
+		public Builder usingMemoryUsageSamples(int memoryUsageSamples) {
+			Assert.isTrue(memoryUsageSamples >= 0, () -> "Memory usage samples [%d] must not be negative"
+				.formatted(memoryUsageSamples));
+			this.memoryUsageSamples = memoryUsageSamples;
+			return this;
+		}
+
+		public Builder usingPattern(@NonNull String pattern) {
+			Assert.hasText(pattern, "Pattern is required");
+			this.pattern = pattern;
+			return this;
+		}
+
+		public Builder usingPauseBetweenBatches(@NonNull Duration pauseBetweenBatches) {
+			Assert.isTrue(pauseBetweenBatches != null && !pauseBetweenBatches.isNegative(),
+				() -> "Pause between batches [%s] must not be negative".formatted(pauseBetweenBatches));
+			this.pauseBetweenBatches = pauseBetweenBatches;
+			return this;
+		}
+
+		public Builder usingScanCount(int scanCount) {
+			Assert.isTrue(scanCount > 0, () -> "Scan count [%d] must be greater than 0".formatted(scanCount));
+			this.scanCount = scanCount;
+			return this;
+		}
+
+		public Builder usingTopKeys(int topKeys) {
+			Assert.isTrue(topKeys > 0, () -> "Top keys [%d] must be greater than 0".formatted(topKeys));
+			this.topKeys = topKeys;
+			return this;
+		}
+
+		public KeyspaceAnalyzer build() {
+			return new KeyspaceAnalyzer(this);
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.analysis;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.lang.Nullable;
+
+/**
+ * Report of the memory usage, access frequency and encodings of keys sampled from a Redis keyspace
+ * by the {@link KeyspaceAnalyzer}.
+ *
+ * @author John Blum
+ * @param scannedKeys number of keys sampled.
+ * @param totalMemoryUsage total memory, in bytes, used by the sampled keys.
+ * @param duration time taken to analyze the keyspace.
+ * @param largestKeys {@link List} of sampled keys using the most memory, largest first.
+ * @param hottestKeys {@link List} of sampled keys most frequently accessed, hottest first; empty unless
+ * the Redis server is configured with an LFU {@literal maxmemory-policy}.
+ * @param memoryByPattern {@link Map} of key patterns to the memory used by keys matching the pattern,
+ * largest first.
+ * @param encodingInefficiencies {@link List} of keys that fell out of a compact encoding (e.g. {@literal listpack})
+ * even though the number of elements is within the server's configured limit.
+ * @see io.codeprimate.examples.redis.embedded.analysis.KeyspaceAnalyzer
+ * @since 0.1.0
+ */
+@SuppressWarnings("unused")
+public record KeyspaceReport(long scannedKeys, long totalMemoryUsage, Duration duration,
+		List<KeyStatistics> largestKeys, List<KeyStatistics> hottestKeys, Map<String, PatternStatistics> memoryByPattern,
+		List<EncodingInefficiency> encodingInefficiencies) {
+
+	public String getSummary() {
+
+		StringBuilder summary = new StringBuilder("Scanned [%d] keys using [%d] bytes in [%d] ms%n"
+			.formatted(scannedKeys(), totalMemoryUsage(), duration().toMillis()));
+
+		summary.append("Largest keys:%n".formatted());
+		largestKeys().forEach(key -> summary.append("  %s%n".formatted(key)));
+		summary.append("Hottest keys:%n".formatted());
+		hottestKeys().forEach(key -> summary.append("  %s%n".formatted(key)));
+		summary.append("Memory by key pattern:%n".formatted());
+		memoryByPattern().values().forEach(pattern -> summary.append("  %s%n".formatted(pattern)));
+		summary.append("Encoding inefficiencies:%n".formatted());
+		encodingInefficiencies().forEach(inefficiency -> summary.append("  %s%n".formatted(inefficiency)));
+
+		return summary.toString();
+	}
+
+	public record KeyStatistics(String key, DataType type, @Nullable String encoding, long memoryUsage,
+			@Nullable Long frequency) {
+
+		@Override
+		public String toString() {
+			return "%s [type: %s, encoding: %s, memory: %d bytes, frequency: %s]"
+				.formatted(key(), type().code(), encoding(), memoryUsage(), frequency() != null ? frequency() : "n/a");
+		}
+	}
+
+	public record PatternStatistics(String pattern, long keys, long memoryUsage) {
+
+		public long averageMemoryUsage() {
+			return keys() > 0L ? memoryUsage() / keys() : 0L;
+		}
+
+		PatternStatistics add(long memoryUsage) {
+			return new PatternStatistics(pattern(), keys() + 1L, memoryUsage() + memoryUsage);
+		}
+
+		@Override
+		public String toString() {
+			return "%s [keys: %d, memory: %d bytes, average: %d bytes]"
+				.formatted(pattern(), keys(), memoryUsage(), averageMemoryUsage());
+		}
+	}
+
+	public record EncodingInefficiency(String key, DataType type, String encoding, long size, long sizeLimit,
+			long memoryUsage) {
+
+		@Override
+		public String toString() {
+			return ("%s [type: %s, encoding: %s, elements: %d within compact limit %d; a large element likely"
+				+ " forced the non-compact encoding; memory: %d bytes]")
+				.formatted(key(), type().code(), encoding(), size(), sizeLimit(), memoryUsage());
+		}
+	}
+}
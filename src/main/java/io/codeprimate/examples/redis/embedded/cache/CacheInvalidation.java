@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Message broadcast over Redis Pub/Sub to invalidate L1 entries of a {@link TwoLevelCache} on other instances.
+ * <p/>
+ * A {@literal null} {@link #key()} invalidates (clears) the entire cache.
+ *
+ * @author John Blum
+ * @param origin {@link String} identifying the {@link TwoLevelCacheManager} that published the invalidation.
+ * @param cacheName {@link String name} of the cache to invalidate.
+ * @param key {@link String} key of the entry to invalidate; may be {@literal null}.
+ * @param timestamp epoch time, in microseconds, when the invalidation was published.
+ * @since 0.1.0
+ */
+@SuppressWarnings("unused")
+public record CacheInvalidation(String origin, String cacheName, @Nullable String key, long timestamp) {
+
+	private static final String CLEAR_MARKER = "*";
+	private static final String KEY_MARKER = "=";
+	private static final String SEPARATOR = "\n";
+
+	public static CacheInvalidation clear(String origin, String cacheName) {
+		return new CacheInvalidation(origin, cacheName, null, epochMicros());
+	}
+
+	public static CacheInvalidation evict(String origin, String cacheName, String key) {
+		Assert.notNull(key, "Key to evict is required");
+		return new CacheInvalidation(origin, cacheName, key, epochMicros());
+	}
+
+	public static CacheInvalidation decode(@NonNull byte[] message) {
+
+		String[] parts = new String(message, StandardCharsets.UTF_8).split(SEPARATOR, 4);
+
+		Assert.isTrue(parts.length == 4, () -> "Invalid cache invalidation message [%s]"
+			.formatted(new String(message, StandardCharsets.UTF_8)));
+
+		String key = parts[3].startsWith(KEY_MARKER) ? parts[3].substring(KEY_MARKER.length()) : null;
+
+		return new CacheInvalidation(parts[0], parts[1], key, Long.parseLong(parts[2]));
+	}
+
+	static long epochMicros() {
+		Instant now = Instant.now();
+		return now.getEpochSecond() * 1_000_000L + now.getNano() / 1_000L;
+	}
+
+	public CacheInvalidation {
+		Assert.hasText(origin, "Origin is required");
+		Assert.hasText(cacheName, "Cache name is required");
+		Assert.isTrue(!cacheName.contains(SEPARATOR), () -> "Cache name [%s] must not contain line breaks"
+			.formatted(cacheName));
+	}
+
+	public boolean isClear() {
+		return key() == null;
+	}
+
+	public Optional<String> optionalKey() {
+		return Optional.ofNullable(key());
+	}
+
+	public byte[] encode() {
+
+		String message = String.join(SEPARATOR, origin(), cacheName(), String.valueOf(timestamp()),
+			optionalKey().map(KEY_MARKER::concat).orElse(CLEAR_MARKER));
+
+		return message.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.util.Assert;
+
+/**
+ * Bounded, in-process (L1) cache evicting the least recently used entry once the maximum size is reached
+ * and expiring entries after a fixed time-to-live (TTL).
+ * <p/>
+ * A {@literal zero} or {@literal negative} TTL means entries do not expire and are only removed by eviction
+ * or invalidation.
+ * <p/>
+ * Every write, eviction and clear advances the version of the affected keys. Values loaded from another source
+ * (e.g. Redis) are cached with {@link #putIfVersion(String, Cache.ValueWrapper, long)}, which discards the value
+ * if the key was written or invalidated while the value was being loaded. Versions are kept per stripe of keys,
+ * rather than per key, so that memory stays bounded.
+ * <p/>
+ * Expiration is measured with a nanosecond ticker, {@link System#nanoTime()} by default.
+ *
+ * @author John Blum
+ * @see org.springframework.cache.Cache.ValueWrapper
+ * @since 0.1.0
+ */
+@SuppressWarnings("unused")
+public class LocalCache {
+
+	private static final int VERSION_STRIPES = 64;
+
+	private final int maximumSize;
+
+	private final long timeToLiveNanos;
+
+	private final long[] versions = new long[VERSION_STRIPES];
+
+	private final LongAdder discards = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	private final LongSupplier ticker;
+
+	private final Map<String, Entry> entries;
+
+	public LocalCache(int maximumSize, Duration timeToLive) {
+		this(maximumSize, timeToLive, System::nanoTime);
+	}
+
+	public LocalCache(int maximumSize, Duration timeToLive, LongSupplier ticker) {
+
+		Assert.isTrue(maximumSize > 0, () -> "Maximum size [%d] must be greater than 0".formatted(maximumSize));
+		Assert.notNull(ticker, "Ticker is required");
+
+		this.maximumSize = maximumSize;
+		this.ticker = ticker;
+		this.timeToLiveNanos = timeToLive != null && !timeToLive.isNegative() ? timeToLive.toNanos() : 0L;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				boolean evict = size() > LocalCache.this.maximumSize;
+				if (evict) {
+					LocalCache.this.evictions.increment();
+				}
+				return evict;
+			}
+		};
+	}
+
+	public int getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	public Duration getTimeToLive() {
+		return Duration.ofNanos(this.timeToLiveNanos);
+	}
+
+	public synchronized Cache.ValueWrapper get(String key) {
+
+		Entry entry = this.entries.get(key);
+
+		if (entry == null) {
+			this.misses.increment();
+			return null;
+		}
+
+		if (entry.isExpired(this.ticker.getAsLong())) {
+			this.entries.remove(key);
+			this.misses.increment();
+			return null;
+		}
+
+		this.hits.increment();
+
+		return entry.value();
+	}
+
+	public synchronized void put(String key, Cache.ValueWrapper value) {
+		advanceVersion(key);
+		putEntry(key, value);
+	}
+
+	/**
+	 * Caches the given value, loaded from another source, unless the key has been written or invalidated
+	 * since the given {@link #version(String) version} was read.
+	 *
+	 * @param key {@link String key} of the entry.
+	 * @param value {@link Cache.ValueWrapper value} of the entry.
+	 * @param version {@link #version(String) version} of the key read before the value was loaded.
+	 * @return {@literal true} if the value was cached; {@literal false} if it was discarded as stale.
+	 */
+	public synchronized boolean putIfVersion(String key, Cache.ValueWrapper value, long version) {
+
+		if (this.versions[stripe(key)] != version) {
+			this.discards.increment();
+			return false;
+		}
+
+		putEntry(key, value);
+
+		return true;
+	}
+
+	private void putEntry(String key, Cache.ValueWrapper value) {
+		long expiresAt = this.timeToLiveNanos > 0L ? this.ticker.getAsLong() + this.timeToLiveNanos : 0L;
+		this.entries.put(key, new Entry(value, expiresAt));
+	}
+
+	/**
+	 * Returns the current version of the given key, to be read before loading a value from another source
+	 * and passed to {@link #putIfVersion(String, Cache.ValueWrapper, long)}.
+	 *
+	 * @param key {@link String key} of the entry.
+	 * @return the current version of the given key.
+	 */
+	public synchronized long version(String key) {
+		return this.versions[stripe(key)];
+	}
+
+	public synchronized boolean evict(String key) {
+		advanceVersion(key);
+		return this.entries.remove(key) != null;
+	}
+
+	public synchronized void clear() {
+
+		for (int stripe = 0; stripe < VERSION_STRIPES; stripe++) {
+			this.versions[stripe]++;
+		}
+
+		this.entries.clear();
+	}
+
+	private void advanceVersion(String key) {
+		this.versions[stripe(key)]++;
+	}
+
+	private int stripe(String key) {
+		return Math.floorMod(key.hashCode(), VERSION_STRIPES);
+	}
+
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	public long getDiscardCount() {
+		return this.discards.sum();
+	}
+
+	public long getEvictionCount() {
+		return this.evictions.sum();
+	}
+
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	private record Entry(Cache.ValueWrapper value, long expiresAt) {
+
+		boolean isExpired(long now) {
+			return this.expiresAt != 0L && now - this.expiresAt >= 0L;
+		}
+	}
+}
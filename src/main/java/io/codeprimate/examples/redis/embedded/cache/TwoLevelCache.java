@@ -0,0 +1,266 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Spring {@link Cache} implementation composed of a bounded, in-process {@link LocalCache} (L1) in front of
+ * a Redis {@link Cache} (L2).
+ * <p/>
+ * Reads are served from L1 when possible and fall through to L2 on a miss, populating L1 with the result,
+ * unless the key was written or invalidated while the result was being read. Writes go to both levels
+ * and broadcast a {@link CacheInvalidation} so that other instances evict their now stale L1 entries.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.cache.CacheInvalidation
+ * @see io.codeprimate.examples.redis.embedded.cache.LocalCache
+ * @see org.springframework.cache.Cache
+ * @since 0.1.0
+ */
+@SuppressWarnings("unused")
+public class TwoLevelCache implements Cache {
+
+	private static final TypeDescriptor STRING_TYPE = TypeDescriptor.valueOf(String.class);
+
+	private final Cache redisCache;
+
+	private final ConversionService conversionService;
+
+	private final Consumer<CacheInvalidation> invalidationPublisher;
+
+	private final LocalCache localCache;
+
+	private final LongAdder invalidationLatencyMicros = new LongAdder();
+	private final LongAdder invalidationPublishNanos = new LongAdder();
+	private final LongAdder invalidationsPublished = new LongAdder();
+	private final LongAdder invalidationsReceived = new LongAdder();
+
+	private final String origin;
+
+	public TwoLevelCache(String origin, Cache redisCache, LocalCache localCache,
+			ConversionService conversionService, Consumer<CacheInvalidation> invalidationPublisher) {
+
+		Assert.hasText(origin, "Origin is required");
+		Assert.notNull(redisCache, "Redis Cache is required");
+		Assert.notNull(localCache, "Local Cache is required");
+		Assert.notNull(conversionService, "ConversionService is required");
+		Assert.notNull(invalidationPublisher, "Invalidation publisher is required");
+
+		this.origin = origin;
+		this.redisCache = redisCache;
+		this.localCache = localCache;
+		this.conversionService = conversionService;
+		this.invalidationPublisher = invalidationPublisher;
+	}
+
+	@Override
+	public @NonNull String getName() {
+		return this.redisCache.getName();
+	}
+
+	@Override
+	public @NonNull Object getNativeCache() {
+		return this.redisCache.getNativeCache();
+	}
+
+	protected LocalCache getLocalCache() {
+		return this.localCache;
+	}
+
+	protected Cache getRedisCache() {
+		return this.redisCache;
+	}
+
+	public TwoLevelCacheStatistics getStatistics() {
+
+		return new TwoLevelCacheStatistics(getName(),
+			this.localCache.getHitCount(), this.localCache.getMissCount(), this.localCache.getEvictionCount(),
+			this.localCache.size(), this.localCache.getDiscardCount(),
+			this.invalidationsPublished.sum(), Duration.ofNanos(this.invalidationPublishNanos.sum()),
+			this.invalidationsReceived.sum(), Duration.ofNanos(this.invalidationLatencyMicros.sum() * 1_000L));
+	}
+
+	@Override
+	public ValueWrapper get(@NonNull Object key) {
+
+		String localKey = toLocalKey(key);
+		ValueWrapper value = this.localCache.get(localKey);
+
+		if (value == null) {
+
+			// Read the version before reading from Redis so that a value overtaken by a write or an invalidation
+			// is not cached in L1
+			long version = this.localCache.version(localKey);
+
+			value = this.redisCache.get(key);
+
+			if (value != null) {
+				this.localCache.putIfVersion(localKey, value, version);
+			}
+		}
+
+		return value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+
+		ValueWrapper valueWrapper = get(key);
+		Object value = valueWrapper != null ? valueWrapper.get() : null;
+
+		Assert.state(value == null || type == null || type.isInstance(value), () ->
+			"Cached value [%s] is not of required type [%s]".formatted(value, type.getName()));
+
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+
+		String localKey = toLocalKey(key);
+		ValueWrapper valueWrapper = this.localCache.get(localKey);
+
+		if (valueWrapper != null) {
+			return (T) valueWrapper.get();
+		}
+
+		long version = this.localCache.version(localKey);
+		T value = this.redisCache.get(key, valueLoader);
+
+		this.localCache.putIfVersion(localKey, new SimpleValueWrapper(value), version);
+
+		return value;
+	}
+
+	@Override
+	public void put(@NonNull Object key, @Nullable Object value) {
+
+		String localKey = toLocalKey(key);
+
+		this.redisCache.put(key, value);
+		this.localCache.put(localKey, new SimpleValueWrapper(value));
+		publish(CacheInvalidation.evict(this.origin, getName(), localKey));
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+
+		String localKey = toLocalKey(key);
+		long version = this.localCache.version(localKey);
+		ValueWrapper existingValue = this.redisCache.putIfAbsent(key, value);
+
+		if (existingValue != null) {
+			this.localCache.putIfVersion(localKey, existingValue, version);
+		}
+		else {
+			this.localCache.put(localKey, new SimpleValueWrapper(value));
+			publish(CacheInvalidation.evict(this.origin, getName(), localKey));
+		}
+
+		return existingValue;
+	}
+
+	@Override
+	public void evict(@NonNull Object key) {
+		evictIfPresent(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(@NonNull Object key) {
+
+		String localKey = toLocalKey(key);
+		boolean evicted = this.redisCache.evictIfPresent(key);
+
+		this.localCache.evict(localKey);
+		publish(CacheInvalidation.evict(this.origin, getName(), localKey));
+
+		return evicted;
+	}
+
+	@Override
+	public void clear() {
+		this.redisCache.clear();
+		this.localCache.clear();
+		publish(CacheInvalidation.clear(this.origin, getName()));
+	}
+
+	@Override
+	public boolean invalidate() {
+
+		boolean invalidated = this.redisCache.invalidate();
+
+		this.localCache.clear();
+		publish(CacheInvalidation.clear(this.origin, getName()));
+
+		return invalidated;
+	}
+
+	/**
+	 * Applies a {@link CacheInvalidation} received from another instance to the local (L1) cache.
+	 *
+	 * @param invalidation {@link CacheInvalidation} to apply.
+	 */
+	public void onInvalidation(@NonNull CacheInvalidation invalidation) {
+
+		invalidation.optionalKey().ifPresentOrElse(this.localCache::evict, this.localCache::clear);
+
+		this.invalidationsReceived.increment();
+		this.invalidationLatencyMicros.add(Math.max(0L, CacheInvalidation.epochMicros() - invalidation.timestamp()));
+	}
+
+	private void publish(CacheInvalidation invalidation) {
+
+		long startTime = System.nanoTime();
+
+		this.invalidationPublisher.accept(invalidation);
+		this.invalidationPublishNanos.add(System.nanoTime() - startTime);
+		this.invalidationsPublished.increment();
+	}
+
+	/**
+	 * Converts the given cache {@link Object key} into the {@link String} form used by the L1 cache
+	 * and invalidation messages, mirroring how Spring Data Redis's {@literal RedisCache} converts keys.
+	 *
+	 * @param key {@link Object} to convert.
+	 * @return the {@link String} form of the given {@link Object key}.
+	 */
+	protected String toLocalKey(Object key) {
+
+		if (key instanceof String stringKey) {
+			return stringKey;
+		}
+
+		TypeDescriptor keyType = TypeDescriptor.forObject(key);
+
+		return this.conversionService.canConvert(keyType, STRING_TYPE)
+			? String.valueOf(this.conversionService.convert(key, keyType, STRING_TYPE))
+			: String.valueOf(key);
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Spring {@link org.springframework.cache.CacheManager} managing {@link TwoLevelCache TwoLevelCaches} that place
+ * a bounded, in-process {@link LocalCache} (L1) in front of Redis (L2).
+ * <p/>
+ * L2 is managed by a Spring Data Redis {@link RedisCacheManager} configured with per-cache time-to-live (TTL).
+ * L1 entries expire after the cache TTL or the local TTL, whichever is shorter, which bounds how long
+ * an instance may serve a stale L1 entry when an invalidation is missed. L1 invalidations are broadcast to,
+ * and received from, other instances over the configured Redis Pub/Sub channel, for which this
+ * {@link MessageListener} must be registered.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.cache.TwoLevelCache
+ * @see org.springframework.cache.support.AbstractCacheManager
+ * @see org.springframework.data.redis.cache.RedisCacheManager
+ * @see org.springframework.data.redis.connection.MessageListener
+ * @since 0.1.0
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class TwoLevelCacheManager extends AbstractCacheManager implements MessageListener {
+
+	public static final Duration DEFAULT_LOCAL_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+	private final byte[] invalidationChannel;
+
+	private final int localMaximumSize;
+
+	private final Duration defaultTimeToLive;
+	private final Duration localTimeToLive;
+
+	private final Map<String, Duration> timeToLives;
+
+	private final RedisCacheConfiguration defaultCacheConfiguration;
+
+	private final RedisCacheManager redisCacheManager;
+
+	private final RedisConnectionFactory connectionFactory;
+
+	private final String origin = UUID.randomUUID().toString();
+
+	public TwoLevelCacheManager(RedisConnectionFactory connectionFactory, String invalidationChannel,
+			int localMaximumSize, Duration defaultTimeToLive, Map<String, Duration> timeToLives) {
+
+		this(connectionFactory, invalidationChannel, localMaximumSize, DEFAULT_LOCAL_TIME_TO_LIVE, defaultTimeToLive,
+			timeToLives);
+	}
+
+	public TwoLevelCacheManager(RedisConnectionFactory connectionFactory, String invalidationChannel,
+			int localMaximumSize, Duration localTimeToLive, Duration defaultTimeToLive,
+			Map<String, Duration> timeToLives) {
+
+		Assert.notNull(connectionFactory, "RedisConnectionFactory is required");
+		Assert.hasText(invalidationChannel, "Invalidation channel is required");
+		Assert.isTrue(localMaximumSize > 0, () -> "Local maximum size [%d] must be greater than 0"
+			.formatted(localMaximumSize));
+		Assert.isTrue(localTimeToLive != null && !localTimeToLive.isNegative() && !localTimeToLive.isZero(),
+			() -> "Local time-to-live [%s] must be greater than 0".formatted(localTimeToLive));
+
+		this.connectionFactory = connectionFactory;
+		this.invalidationChannel = invalidationChannel.getBytes(StandardCharsets.UTF_8);
+		this.localMaximumSize = localMaximumSize;
+		this.localTimeToLive = localTimeToLive;
+		this.defaultTimeToLive = defaultTimeToLive != null ? defaultTimeToLive : Duration.ZERO;
+		this.timeToLives = timeToLives != null ? Map.copyOf(timeToLives) : Collections.emptyMap();
+		this.defaultCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig().entryTtl(this.defaultTimeToLive);
+		this.redisCacheManager = newRedisCacheManager(connectionFactory);
+	}
+
+	private RedisCacheManager newRedisCacheManager(RedisConnectionFactory connectionFactory) {
+
+		Map<String, RedisCacheConfiguration> initialCacheConfigurations = new HashMap<>();
+
+		this.timeToLives.forEach((cacheName, timeToLive) ->
+			initialCacheConfigurations.put(cacheName, this.defaultCacheConfiguration.entryTtl(timeToLive)));
+
+		return RedisCacheManager.builder(connectionFactory)
+			.cacheDefaults(this.defaultCacheConfiguration)
+			.withInitialCacheConfigurations(initialCacheConfigurations)
+			.build();
+	}
+
+	public String getInvalidationChannel() {
+		return new String(this.invalidationChannel, StandardCharsets.UTF_8);
+	}
+
+	public Duration getLocalTimeToLive() {
+		return this.localTimeToLive;
+	}
+
+	public String getOrigin() {
+		return this.origin;
+	}
+
+	protected RedisCacheManager getRedisCacheManager() {
+		return this.redisCacheManager;
+	}
+
+	public Map<String, TwoLevelCacheStatistics> getStatistics() {
+
+		Map<String, TwoLevelCacheStatistics> statistics = new LinkedHashMap<>();
+
+		getCacheNames().stream()
+			.map(this::lookupCache)
+			.filter(TwoLevelCache.class::isInstance)
+			.map(TwoLevelCache.class::cast)
+			.forEach(cache -> statistics.put(cache.getName(), cache.getStatistics()));
+
+		return statistics;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		this.redisCacheManager.afterPropertiesSet();
+		super.afterPropertiesSet();
+	}
+
+	@Override
+	protected @NonNull Collection<? extends Cache> loadCaches() {
+
+		return this.timeToLives.keySet().stream()
+			.map(this::newTwoLevelCache)
+			.toList();
+	}
+
+	@Override
+	protected Cache getMissingCache(@NonNull String name) {
+		return newTwoLevelCache(name);
+	}
+
+	private TwoLevelCache newTwoLevelCache(String name) {
+
+		Cache redisCache = this.redisCacheManager.getCache(name);
+
+		Assert.state(redisCache != null, () -> "Redis Cache [%s] could not be created".formatted(name));
+
+		LocalCache localCache = new LocalCache(this.localMaximumSize, resolveLocalTimeToLive(name));
+
+		return new TwoLevelCache(this.origin, redisCache, localCache,
+			this.defaultCacheConfiguration.getConversionService(), this::publish);
+	}
+
+	private Duration resolveLocalTimeToLive(String cacheName) {
+
+		Duration timeToLive = this.timeToLives.getOrDefault(cacheName, this.defaultTimeToLive);
+
+		return timeToLive.isNegative() || timeToLive.isZero() || timeToLive.compareTo(this.localTimeToLive) > 0
+			? this.localTimeToLive
+			: timeToLive;
+	}
+
+	protected void publish(CacheInvalidation invalidation) {
+
+		try (RedisConnection connection = this.connectionFactory.getConnection()) {
+			connection.publish(this.invalidationChannel, invalidation.encode());
+		}
+		catch (RuntimeException e) {
+			// A failed broadcast must not fail the cache operation; other instances fall back on the L1 TTL
+			if (log.isWarnEnabled()) {
+				log.warn("Failed to publish invalidation for cache [{}]", invalidation.cacheName(), e);
+			}
+		}
+	}
+
+	@Override
+	public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+
+		CacheInvalidation invalidation = CacheInvalidation.decode(message.getBody());
+
+		if (!this.origin.equals(invalidation.origin())) {
+			if (lookupCache(invalidation.cacheName()) instanceof TwoLevelCache cache) {
+				cache.onInvalidation(invalidation);
+			}
+		}
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.cache;
+
+import java.time.Duration;
+
+/**
+ * Point-in-time statistics for a {@link TwoLevelCache}.
+ *
+ * @author John Blum
+ * @param cacheName {@link String name} of the cache.
+ * @param localHits number of lookups served by the local (L1) cache.
+ * @param localMisses number of lookups that fell through to Redis (L2).
+ * @param localEvictions number of L1 entries evicted to honor the maximum size.
+ * @param localSize current number of entries held in the L1 cache.
+ * @param localDiscards number of values loaded from Redis (L2) but not cached in L1, because the key was written
+ * or invalidated while the value was being loaded.
+ * @param invalidationsPublished number of invalidations broadcast to other instances.
+ * @param invalidationPublishTime total time spent publishing invalidations.
+ * @param invalidationsReceived number of invalidations received from other instances.
+ * @param invalidationLatency total time between publishing and receiving invalidations from other instances.
+ * @since 0.1.0
+ */
+@SuppressWarnings("unused")
+public record TwoLevelCacheStatistics(String cacheName, long localHits, long localMisses, long localEvictions,
+		int localSize, long localDiscards, long invalidationsPublished, Duration invalidationPublishTime,
+		long invalidationsReceived, Duration invalidationLatency) {
+
+	public double localHitRate() {
+		long lookups = localHits() + localMisses();
+		return lookups > 0L ? (double) localHits() / lookups : 0.0d;
+	}
+
+	public Duration averageInvalidationPublishTime() {
+		return average(invalidationPublishTime(), invalidationsPublished());
+	}
+
+	public Duration averageInvalidationLatency() {
+		return average(invalidationLatency(), invalidationsReceived());
+	}
+
+	private Duration average(Duration total, long count) {
+		return count > 0L ? total.dividedBy(count) : Duration.ZERO;
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import io.codeprimate.examples.redis.embedded.cache.TwoLevelCacheManager;
+import io.codeprimate.examples.redis.embedded.connection.EmbeddedRedisServerConnectionFactory;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheAspectSupport;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import redis.embedded.RedisServer;
+
+/**
+ * Spring Boot {@link AutoConfiguration} for a two-level (L1 local, L2 Redis) {@link CacheManager} backed by
+ * the embedded {@link RedisServer}.
+ * <p/>
+ * Applies when caching is enabled (e.g. {@literal @EnableCaching}) and no other {@link CacheManager} is declared.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.cache.TwoLevelCacheManager
+ * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerAutoConfiguration
+ * @see org.springframework.boot.autoconfigure.AutoConfiguration
+ * @see org.springframework.data.redis.listener.RedisMessageListenerContainer
+ * @since 0.1.0
+ */
+@AutoConfiguration(after = EmbeddedRedisServerAutoConfiguration.class, before = CacheAutoConfiguration.class)
+@ConditionalOnClass({ CacheManager.class, RedisServer.class })
+@ConditionalOnBean(CacheAspectSupport.class)
+@ConditionalOnMissingBean(CacheManager.class)
+@ConditionalOnSingleCandidate(EmbeddedRedisServerConnectionFactory.class)
+@ConditionalOnProperty(prefix = "redis.server.cache", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(EmbeddedRedisCacheProperties.class)
+@SuppressWarnings("unused")
+public class EmbeddedRedisCacheAutoConfiguration {
+
+	@Bean
+	TwoLevelCacheManager cacheManager(EmbeddedRedisServerConnectionFactory connectionFactory,
+			EmbeddedRedisCacheProperties properties) {
+
+		return new TwoLevelCacheManager(connectionFactory, properties.invalidationChannelOrDefault(),
+			properties.localMaximumSizeOrDefault(), properties.localTimeToLiveOrDefault(),
+			properties.timeToLiveOrDefault(), properties.cachesOrEmpty());
+	}
+
+	@Bean
+	RedisMessageListenerContainer embeddedRedisCacheInvalidationListenerContainer(
+			EmbeddedRedisServerConnectionFactory connectionFactory, TwoLevelCacheManager cacheManager) {
+
+		RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+
+		listenerContainer.setConnectionFactory(connectionFactory);
+		listenerContainer.addMessageListener(cacheManager, new ChannelTopic(cacheManager.getInvalidationChannel()));
+
+		return listenerContainer;
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import io.codeprimate.examples.redis.embedded.cache.TwoLevelCacheManager;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.Assert;
+
+/**
+ * Spring {@link ConfigurationProperties} containing configuration metadata for the {@link TwoLevelCacheManager}
+ * backed by the embedded Redis server.
+ *
+ * @author John Blum
+ * @param caches {@link Map} of cache names to the time-to-live (TTL) of entries in the cache.
+ * @param invalidationChannel {@link String name} of the Redis Pub/Sub channel used to broadcast L1 invalidations.
+ * @param localMaximumSize maximum number of entries held in the local (L1) cache of each cache.
+ * @param localTimeToLive maximum time-to-live (TTL) of entries in the local (L1) cache of each cache; must be
+ * greater than {@literal zero}, since it bounds how long a stale L1 entry is served when an invalidation is missed.
+ * @param timeToLive default time-to-live (TTL) of entries in caches not explicitly configured.
+ * @see io.codeprimate.examples.redis.embedded.cache.TwoLevelCacheManager
+ * @see org.springframework.boot.context.properties.ConfigurationProperties
+ * @since 0.1.0
+ */
+@ConfigurationProperties("redis.server.cache")
+@SuppressWarnings("unused")
+public record EmbeddedRedisCacheProperties(Map<String, Duration> caches, String invalidationChannel,
+		Integer localMaximumSize, Duration localTimeToLive, Duration timeToLive) {
+
+	public static final int DEFAULT_LOCAL_MAXIMUM_SIZE = 1000;
+
+	public static final String DEFAULT_INVALIDATION_CHANNEL = "embedded-redis:cache:invalidations";
+
+	public EmbeddedRedisCacheProperties {
+		boolean isValidLocalMaximumSize = localMaximumSize == null || localMaximumSize > 0;
+		Assert.isTrue(isValidLocalMaximumSize, () -> "Local maximum size [%d] must be greater than 0"
+			.formatted(localMaximumSize));
+		boolean isValidLocalTimeToLive = localTimeToLive == null
+			|| !(localTimeToLive.isNegative() || localTimeToLive.isZero());
+		Assert.isTrue(isValidLocalTimeToLive, () -> "Local time-to-live [%s] must be greater than 0"
+			.formatted(localTimeToLive));
+	}
+
+	public Map<String, Duration> cachesOrEmpty() {
+		return caches() != null ? caches() : Collections.emptyMap();
+	}
+
+	public String invalidationChannelOrDefault() {
+		return Optional.ofNullable(invalidationChannel()).orElse(DEFAULT_INVALIDATION_CHANNEL);
+	}
+
+	public int localMaximumSizeOrDefault() {
+		return Optional.ofNullable(localMaximumSize()).orElse(DEFAULT_LOCAL_MAXIMUM_SIZE);
+	}
+
+	public Duration localTimeToLiveOrDefault() {
+		return Optional.ofNullable(localTimeToLive()).orElse(TwoLevelCacheManager.DEFAULT_LOCAL_TIME_TO_LIVE);
+	}
+
+	public Duration timeToLiveOrDefault() {
+		return Optional.ofNullable(timeToLive()).orElse(Duration.ZERO);
+	}
+}
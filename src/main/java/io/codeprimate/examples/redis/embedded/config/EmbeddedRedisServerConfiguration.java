@@ -17,13 +17,21 @@ package io.codeprimate.examples.redis.embedded.config;
 
 import io.codeprimate.examples.redis.embedded.config.support.AbstractImportAwareSupport;
 import io.codeprimate.examples.redis.embedded.connection.EmbeddedRedisServerConnectionFactory;
+import io.codeprimate.examples.redis.embedded.monitor.SlowCommandMonitor;
+import io.codeprimate.examples.redis.embedded.script.RedisScriptRegistry;
+import io.codeprimate.examples.redis.embedded.support.StartupTimeline;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.lang.NonNull;
@@ -40,50 +48,106 @@ import redis.embedded.RedisServer;
  * @since 0.1.0
  */
 @Configuration
-@EnableConfigurationProperties(EmbeddedRedisServerProperties.class)
+@EnableConfigurationProperties({
+	EmbeddedRedisServerProperties.class,
+	EmbeddedRedisServerMonitorProperties.class,
+	EmbeddedRedisServerScriptProperties.class,
+	EmbeddedRedisServerWarmupProperties.class
+})
+@ImportRuntimeHints(EmbeddedRedisServerRuntimeHints.class)
 @SuppressWarnings("unused")
 public class EmbeddedRedisServerConfiguration extends AbstractImportAwareSupport<EnableEmbeddedRedisServer> {
 
 	protected static final int REDIS_PORT = EmbeddedRedisServerConnectionFactory.DEFAULT_REDIS_PORT;
 
-	private int redisPort = REDIS_PORT;
+	private int enableEmbeddedRedisServerPort = REDIS_PORT;
 
-	@Autowired
-	private EmbeddedRedisServerProperties embeddedRedisProperties;
+	private final EmbeddedRedisServerProperties embeddedRedisProperties;
 
-	@Autowired
-	private RedisProperties redisProperties;
+	private final RedisProperties redisProperties;
+
+	// Constructor injection, rather than field injection, lets Spring AOT generate plain, reflection-free
+	// instantiation code for this configuration
+	public EmbeddedRedisServerConfiguration(EmbeddedRedisServerProperties embeddedRedisProperties,
+			RedisProperties redisProperties) {
+
+		super(EnableEmbeddedRedisServer.class);
+
+		this.embeddedRedisProperties = embeddedRedisProperties;
+		this.redisProperties = redisProperties;
+	}
 
 	@Override
 	public void setImportMetadata(@NonNull AnnotationMetadata importMetadata) {
 
 		if (isAnnotationPresent(importMetadata)) {
 			AnnotationAttributes enableEmbeddedRedisServerAttributes = getAnnotationAttributes(importMetadata);
-			this.redisPort = getRedisPort(enableEmbeddedRedisServerAttributes);
+			this.enableEmbeddedRedisServerPort = enableEmbeddedRedisServerAttributes.getNumber("port");
 		}
 	}
 
-	protected int getRedisPort(AnnotationAttributes enableEmbeddedRedisServerAttributes) {
+	protected int getRedisPort() {
 
 		return this.redisProperties.getPort() != REDIS_PORT ? this.redisProperties.getPort()
 			: this.embeddedRedisProperties.port() != null ? this.embeddedRedisProperties.port()
-			: enableEmbeddedRedisServerAttributes.getNumber("port");
+			: this.enableEmbeddedRedisServerPort;
 	}
 
 	@Bean
-	EmbeddedRedisServerFactoryBean embeddedRedisServer() {
+	StartupTimeline embeddedRedisStartupTimeline(ObjectProvider<ApplicationStartup> applicationStartup) {
+		return new StartupTimeline(applicationStartup.getIfAvailable(() -> ApplicationStartup.DEFAULT));
+	}
+
+	@Bean
+	EmbeddedRedisServerFactoryBean embeddedRedisServer(StartupTimeline embeddedRedisStartupTimeline) {
 
 		EmbeddedRedisServerProperties properties = EmbeddedRedisServerProperties.copy(this.embeddedRedisProperties)
-			.usingPort(this.redisPort)
+			.usingPort(getRedisPort())
 			.build();
 
-		return new EmbeddedRedisServerFactoryBean(properties);
+		return new EmbeddedRedisServerFactoryBean(properties, embeddedRedisStartupTimeline);
+	}
+
+	@Bean
+	EmbeddedRedisServerConnectionFactory embeddedRedisConnectionFactory(RedisServer redisServer,
+			StartupTimeline embeddedRedisStartupTimeline) {
+
+		return embeddedRedisStartupTimeline.record("connection-factory.create", () ->
+			new EmbeddedRedisServerConnectionFactory(redisServer));
 	}
 
 	@Bean
-	RedisTemplate<String, Object> embeddedRedisTemplate(RedisServer redisServer) {
+	RedisTemplate<String, Object> embeddedRedisTemplate(EmbeddedRedisServerConnectionFactory connectionFactory) {
 		RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
-		redisTemplate.setConnectionFactory(new EmbeddedRedisServerConnectionFactory(redisServer));
+		redisTemplate.setConnectionFactory(connectionFactory);
 		return redisTemplate;
 	}
+
+	@Bean
+	EmbeddedRedisServerWarmer embeddedRedisServerWarmer(RedisTemplate<String, Object> embeddedRedisTemplate,
+			EmbeddedRedisServerWarmupProperties warmupProperties, StartupTimeline embeddedRedisStartupTimeline) {
+
+		return new EmbeddedRedisServerWarmer(embeddedRedisTemplate, warmupProperties, embeddedRedisStartupTimeline);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "redis.server.monitor", name = "enabled", havingValue = "true")
+	SlowCommandMonitor embeddedRedisSlowCommandMonitor(EmbeddedRedisServerConnectionFactory connectionFactory,
+			EmbeddedRedisServerMonitorProperties monitorProperties) {
+
+		return new SlowCommandMonitor(connectionFactory, monitorProperties.slowlogThresholdWithinBudget(),
+			monitorProperties.latencyThresholdOrDefault(), monitorProperties.slowlogMaxLengthOrDefault(),
+			monitorProperties.harvestIntervalOrDefault(), monitorProperties.reportDirectory());
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "redis.server.scripts", name = "enabled", havingValue = "true", matchIfMissing = true)
+	RedisScriptRegistry embeddedRedisScriptRegistry(RedisTemplate<String, Object> embeddedRedisTemplate,
+			EmbeddedRedisServerScriptProperties scriptProperties, ResourceLoader resourceLoader,
+			StartupTimeline embeddedRedisStartupTimeline) {
+
+		return new RedisScriptRegistry(embeddedRedisTemplate, embeddedRedisStartupTimeline)
+			.registerAll(ResourcePatternUtils.getResourcePatternResolver(resourceLoader),
+				scriptProperties.locationsOrDefault());
+	}
 }
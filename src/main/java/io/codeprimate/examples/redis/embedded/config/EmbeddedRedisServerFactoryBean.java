@@ -19,11 +19,14 @@ import java.io.IOException;
 import java.util.Optional;
 
 import io.codeprimate.examples.redis.embedded.connection.EmbeddedRedisServerConnectionFactory;
+import io.codeprimate.examples.redis.embedded.server.ManagedRedisServer;
 import io.codeprimate.examples.redis.embedded.support.AbstractServerSupport;
+import io.codeprimate.examples.redis.embedded.support.StartupTimeline;
 
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.context.SmartLifecycle;
 
+import lombok.extern.slf4j.Slf4j;
 import redis.embedded.RedisExecProvider;
 import redis.embedded.RedisServer;
 import redis.embedded.util.OsArchitecture;
@@ -33,25 +36,55 @@ import redis.embedded.util.OsArchitecture;
  *
  * @author John Blum
  * @see io.codeprimate.examples.redis.embedded.connection.EmbeddedRedisServerConnectionFactory
+ * @see io.codeprimate.examples.redis.embedded.server.ManagedRedisServer
  * @see io.codeprimate.examples.redis.embedded.support.AbstractServerSupport
  * @see org.springframework.beans.factory.FactoryBean
  * @see org.springframework.context.SmartLifecycle
  * @see redis.embedded.RedisServer
  * @since 0.1.0
  */
+@Slf4j
 @SuppressWarnings("unused")
 public class EmbeddedRedisServerFactoryBean extends AbstractServerSupport
 		implements FactoryBean<RedisServer>, SmartLifecycle {
 
-	private static final int REDIS_PORT = EmbeddedRedisServerConnectionFactory.DEFAULT_REDIS_PORT;
+	/**
+	 * {@link SmartLifecycle} phase in which the embedded Redis server is started, ahead of Redis clients
+	 * (e.g. listener containers) running in the {@link SmartLifecycle#DEFAULT_PHASE default phase}.
+	 */
+	public static final int EMBEDDED_REDIS_SERVER_PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+	/**
+	 * {@link SmartLifecycle} phase of the connection factory, started after, and stopped before, the embedded
+	 * Redis server.
+	 */
+	public static final int EMBEDDED_REDIS_CONNECTION_FACTORY_PHASE = EMBEDDED_REDIS_SERVER_PHASE + 1;
 
-	private static final String REDIS_READY_PATTERN = ".*Ready to accept connections tcp.*";
+	/**
+	 * {@link SmartLifecycle} phase of the embedded Redis server clients (e.g. warm-up, monitoring and script loading),
+	 * started after, and stopped before, the connection factory.
+	 */
+	public static final int EMBEDDED_REDIS_CLIENT_PHASE = EMBEDDED_REDIS_CONNECTION_FACTORY_PHASE + 1;
+
+	private static final int REDIS_PORT = EmbeddedRedisServerConnectionFactory.DEFAULT_REDIS_PORT;
 
 	private final RedisServer redisServer;
 
+	private final StartupTimeline startupTimeline;
+
+	public EmbeddedRedisServerFactoryBean(EmbeddedRedisServerProperties properties, int port) {
+		this(EmbeddedRedisServerProperties.copy(properties).usingPort(port).build());
+	}
+
 	public EmbeddedRedisServerFactoryBean(EmbeddedRedisServerProperties properties) {
-		int resolvedPort = resolvePort(properties.port());
-		this.redisServer = newRedisServer(properties, resolvedPort);
+		this(properties, new StartupTimeline());
+	}
+
+	public EmbeddedRedisServerFactoryBean(EmbeddedRedisServerProperties properties, StartupTimeline startupTimeline) {
+		this.startupTimeline = startupTimeline;
+		int resolvedPort = startupTimeline.record("port.resolve", () -> resolvePort(properties.port()));
+		// Constructing the RedisServer resolves, and possibly extracts, the Redis server executable
+		this.redisServer = startupTimeline.record("exec.resolve", () -> newRedisServer(properties, resolvedPort));
 	}
 
 	private RedisServer buildRedisServer(EmbeddedRedisServerProperties properties, int port) {
@@ -65,13 +98,8 @@ public class EmbeddedRedisServerFactoryBean extends AbstractServerSupport
 	private RedisServer newRedisServer(EmbeddedRedisServerProperties properties, int port) {
 
 		try {
-			return new RedisServer(newRedisExecProvider(properties), port) {
-
-				@Override
-				protected String redisReadyPattern() {
-					return REDIS_READY_PATTERN;
-				}
-			};
+			return new ManagedRedisServer(newRedisExecProvider(properties), port,
+				properties.shutdownTimeoutOrDefault(), properties.startupTimeoutOrDefault(), getStartupTimeline());
 		}
 		catch (IOException e) {
 			throw new RuntimeException("Failed to construct a new Redis server on port [%d]".formatted(port), e);
@@ -104,6 +132,11 @@ public class EmbeddedRedisServerFactoryBean extends AbstractServerSupport
 			.orElse(RedisServer.class);
 	}
 
+	@Override
+	public int getPhase() {
+		return EMBEDDED_REDIS_SERVER_PHASE;
+	}
+
 	@Override
 	public boolean isRunning() {
 
@@ -114,7 +147,16 @@ public class EmbeddedRedisServerFactoryBean extends AbstractServerSupport
 
 	@Override
 	public void start() {
-		requireRedisServer().start();
+
+		RedisServer redisServer = requireRedisServer();
+
+		// The ManagedRedisServer records the fork and ready steps itself
+		if (redisServer instanceof ManagedRedisServer) {
+			redisServer.start();
+		}
+		else {
+			this.startupTimeline.record("server.start", redisServer::start);
+		}
 	}
 
 	@Override
@@ -122,11 +164,48 @@ public class EmbeddedRedisServerFactoryBean extends AbstractServerSupport
 		getOptionalRedisServer().ifPresent(RedisServer::stop);
 	}
 
+	/**
+	 * Stops the embedded Redis server without blocking the caller, so that the servers of all
+	 * {@link EmbeddedRedisServerFactoryBean EmbeddedRedisServerFactoryBeans} in the same phase stop in parallel.
+	 *
+	 * @param callback {@link Runnable} invoked once the embedded Redis server has stopped.
+	 */
+	@Override
+	public void stop(Runnable callback) {
+
+		RedisServer redisServer = getRedisServer();
+
+		if (redisServer instanceof ManagedRedisServer managedRedisServer) {
+			managedRedisServer.stopAsync().whenComplete((result, cause) -> {
+				try {
+					if (cause != null && log.isErrorEnabled()) {
+						log.error("Failed to stop Redis server on port [{}]", managedRedisServer.getPort(), cause);
+					}
+				}
+				finally {
+					callback.run();
+				}
+			});
+		}
+		else {
+			try {
+				stop();
+			}
+			finally {
+				callback.run();
+			}
+		}
+	}
+
 	@Override
 	protected int getDefaultServerPort() {
 		return REDIS_PORT;
 	}
 
+	protected StartupTimeline getStartupTimeline() {
+		return this.startupTimeline;
+	}
+
 	protected RedisServer getRedisServer() {
 		return this.redisServer;
 	}
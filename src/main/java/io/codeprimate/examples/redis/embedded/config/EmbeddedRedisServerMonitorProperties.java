@@ -0,0 +1,87 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import io.codeprimate.examples.redis.embedded.monitor.SlowCommandMonitor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Spring {@link ConfigurationProperties} containing configuration metadata for the {@link SlowCommandMonitor}
+ * harvesting the {@literal SLOWLOG} and {@literal LATENCY} monitor of the embedded Redis server.
+ *
+ * @author John Blum
+ * @param budget maximum {@link Duration} any command may take before a test fails; {@literal null} to not fail tests.
+ * @param enabled {@link Boolean} indicating whether the monitor is enabled; disabled by default.
+ * @param harvestInterval {@link Duration} between periodic harvests; {@literal zero} harvests only when stopped
+ * or drained.
+ * @param latencyThreshold {@literal latency-monitor-threshold} of the Redis server.
+ * @param reportDirectory {@link Path} of the directory to which reports are written; {@literal null} to not write
+ * reports.
+ * @param slowlogMaxLength {@literal slowlog-max-len} of the Redis server.
+ * @param slowlogThreshold {@literal slowlog-log-slower-than} of the Redis server.
+ * @see io.codeprimate.examples.redis.embedded.monitor.SlowCommandMonitor
+ * @see org.springframework.boot.context.properties.ConfigurationProperties
+ * @since 0.1.0
+ */
+@ConfigurationProperties("redis.server.monitor")
+@SuppressWarnings("unused")
+public record EmbeddedRedisServerMonitorProperties(Duration budget, Boolean enabled, Duration harvestInterval,
+		Duration latencyThreshold, Path reportDirectory, Integer slowlogMaxLength, Duration slowlogThreshold) {
+
+	public Optional<Duration> optionalBudget() {
+		return Optional.ofNullable(budget());
+	}
+
+	public boolean isEnabled() {
+		return Boolean.TRUE.equals(enabled());
+	}
+
+	public Duration harvestIntervalOrDefault() {
+		return Optional.ofNullable(harvestInterval()).orElse(SlowCommandMonitor.DEFAULT_HARVEST_INTERVAL);
+	}
+
+	public Duration latencyThresholdOrDefault() {
+		return Optional.ofNullable(latencyThreshold()).orElse(SlowCommandMonitor.DEFAULT_LATENCY_THRESHOLD);
+	}
+
+	public int slowlogMaxLengthOrDefault() {
+		return Optional.ofNullable(slowlogMaxLength()).orElse(SlowCommandMonitor.DEFAULT_SLOWLOG_MAX_LENGTH);
+	}
+
+	public Duration slowlogThresholdOrDefault() {
+		return Optional.ofNullable(slowlogThreshold()).orElse(SlowCommandMonitor.DEFAULT_SLOWLOG_THRESHOLD);
+	}
+
+	/**
+	 * Returns the {@literal slowlog-log-slower-than} threshold, lowered to the budget when the budget is smaller,
+	 * so that every command exceeding the budget is recorded in the {@literal SLOWLOG}.
+	 *
+	 * @return the {@link Duration slowlog threshold} within the budget.
+	 */
+	public Duration slowlogThresholdWithinBudget() {
+
+		Duration slowlogThreshold = slowlogThresholdOrDefault();
+
+		return optionalBudget()
+			.filter(budget -> budget.compareTo(slowlogThreshold) < 0)
+			.orElse(slowlogThreshold);
+	}
+}
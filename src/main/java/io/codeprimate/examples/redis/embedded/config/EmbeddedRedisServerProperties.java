@@ -16,8 +16,11 @@
 package io.codeprimate.examples.redis.embedded.config;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.Optional;
 
+import io.codeprimate.examples.redis.embedded.server.ManagedRedisServer;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.util.Assert;
 
@@ -35,7 +38,8 @@ import redis.embedded.RedisServer;
  */
 @ConfigurationProperties("redis.server")
 @SuppressWarnings("unused")
-public record EmbeddedRedisServerProperties(File exec, Integer port) {
+public record EmbeddedRedisServerProperties(File exec, Integer port, Duration shutdownTimeout,
+		Duration startupTimeout) {
 
 	public static int REDIS_PORT = EmbeddedRedisServerConfiguration.REDIS_PORT;
 
@@ -47,6 +51,13 @@ public record EmbeddedRedisServerProperties(File exec, Integer port) {
 	public EmbeddedRedisServerProperties {
 		boolean isValidExec = exec == null || exec.isFile();
 		Assert.isTrue(isValidExec, () -> "Executable [%s] for Redis server not found".formatted(exec));
+		boolean isValidShutdownTimeout = shutdownTimeout == null || !shutdownTimeout.isNegative();
+		Assert.isTrue(isValidShutdownTimeout, () -> "Shutdown timeout [%s] must not be negative"
+			.formatted(shutdownTimeout));
+		boolean isValidStartupTimeout = startupTimeout == null
+			|| (!startupTimeout.isNegative() && !startupTimeout.isZero());
+		Assert.isTrue(isValidStartupTimeout, () -> "Startup timeout [%s] must be greater than 0"
+			.formatted(startupTimeout));
 	}
 
 	public Optional<File> optionalExec() {
@@ -61,15 +72,27 @@ public record EmbeddedRedisServerProperties(File exec, Integer port) {
 		return optionalPort().orElse(REDIS_PORT);
 	}
 
+	public Duration shutdownTimeoutOrDefault() {
+		return Optional.ofNullable(shutdownTimeout()).orElse(ManagedRedisServer.DEFAULT_SHUTDOWN_TIMEOUT);
+	}
+
+	public Duration startupTimeoutOrDefault() {
+		return Optional.ofNullable(startupTimeout()).orElse(ManagedRedisServer.DEFAULT_STARTUP_TIMEOUT);
+	}
+
 	@Getter(AccessLevel.PROTECTED)
 	public static class Builder {
 
 		private File executable;
 		private Integer port;
+		private Duration shutdownTimeout;
+		private Duration startupTimeout;
 
 		protected Builder(EmbeddedRedisServerProperties properties) {
 			this.executable = properties.exec();
 			this.port = properties.port();
+			this.shutdownTimeout = properties.shutdownTimeout();
+			this.startupTimeout = properties.startupTimeout();
 		}
 
 		public Builder usingExecutable(File executable) {
@@ -82,8 +105,19 @@ public record EmbeddedRedisServerProperties(File exec, Integer port) {
 			return this;
 		}
 
+		public Builder usingShutdownTimeout(Duration shutdownTimeout) {
+			this.shutdownTimeout = shutdownTimeout;
+			return this;
+		}
+
+		public Builder usingStartupTimeout(Duration startupTimeout) {
+			this.startupTimeout = startupTimeout;
+			return this;
+		}
+
 		public EmbeddedRedisServerProperties build() {
-			return new EmbeddedRedisServerProperties(getExecutable(), getPort());
+			return new EmbeddedRedisServerProperties(getExecutable(), getPort(), getShutdownTimeout(),
+				getStartupTimeout());
 		}
 	}
 }
@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import redis.embedded.RedisServer;
+
+/**
+ * Spring {@link RuntimeHintsRegistrar} contributing the {@link RuntimeHints} needed to run the embedded
+ * {@link RedisServer} in a GraalVM native image.
+ *
+ * @author John Blum
+ * @see org.springframework.aot.hint.RuntimeHints
+ * @see org.springframework.aot.hint.RuntimeHintsRegistrar
+ * @see redis.embedded.RedisServer
+ * @since 0.1.0
+ */
+@SuppressWarnings("unused")
+public class EmbeddedRedisServerRuntimeHints implements RuntimeHintsRegistrar {
+
+	// Redis server executables bundled at the root of the embedded-redis JAR and extracted by the RedisExecProvider
+	// when no executable is configured
+	protected static final String REDIS_SERVER_EXECUTABLES_PATTERN = "redis-server-*";
+
+	// Lua scripts registered from the default location by the RedisScriptRegistry
+	protected static final String REDIS_SCRIPTS_PATTERN = "redis/scripts/*.lua";
+
+	// Common JDK types serialized with Java serialization by the default RedisTemplate serializer (including warm-up);
+	// application types stored with the default serializer must be registered by the application
+	private static final String[] SERIALIZED_TYPE_NAMES = {
+		"java.lang.Boolean",
+		"java.lang.Double",
+		"java.lang.Enum",
+		"java.lang.Integer",
+		"java.lang.Long",
+		"java.lang.Number",
+		"java.lang.String",
+		"java.math.BigDecimal",
+		"java.math.BigInteger",
+		"java.time.Ser",
+		"java.util.ArrayList",
+		"java.util.CollSer",
+		"java.util.Date",
+		"java.util.HashMap",
+		"java.util.HashSet",
+		"java.util.LinkedHashMap",
+		"java.util.LinkedHashSet",
+		"java.util.UUID"
+	};
+
+	@Override
+	public void registerHints(@NonNull RuntimeHints hints, @Nullable ClassLoader classLoader) {
+
+		hints.resources().registerPattern(REDIS_SERVER_EXECUTABLES_PATTERN);
+		hints.resources().registerPattern(REDIS_SCRIPTS_PATTERN);
+
+		// Annotation attribute default values are read reflectively when the import metadata is processed
+		hints.reflection().registerType(EnableEmbeddedRedisServer.class, MemberCategory.INVOKE_DECLARED_METHODS);
+		hints.reflection().registerType(EnableEmbeddedRedisServers.class, MemberCategory.INVOKE_DECLARED_METHODS);
+
+		for (String typeName : SERIALIZED_TYPE_NAMES) {
+			hints.serialization().registerType(TypeReference.of(typeName));
+		}
+	}
+}
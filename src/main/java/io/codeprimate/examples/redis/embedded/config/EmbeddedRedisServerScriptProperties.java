@@ -0,0 +1,47 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import java.util.List;
+import java.util.Optional;
+
+import io.codeprimate.examples.redis.embedded.script.RedisScriptRegistry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Spring {@link ConfigurationProperties} containing configuration metadata for the {@link RedisScriptRegistry}
+ * loading Lua scripts into the embedded Redis server.
+ *
+ * @author John Blum
+ * @param enabled {@link Boolean} indicating whether scripts are registered and loaded; enabled by default.
+ * @param locations {@link List} of resource location patterns from which scripts are registered.
+ * @see io.codeprimate.examples.redis.embedded.script.RedisScriptRegistry
+ * @see org.springframework.boot.context.properties.ConfigurationProperties
+ * @since 0.1.0
+ */
+@ConfigurationProperties("redis.server.scripts")
+@SuppressWarnings("unused")
+public record EmbeddedRedisServerScriptProperties(Boolean enabled, List<String> locations) {
+
+	public boolean isEnabled() {
+		return !Boolean.FALSE.equals(enabled());
+	}
+
+	public List<String> locationsOrDefault() {
+		return Optional.ofNullable(locations()).orElseGet(() -> List.of(RedisScriptRegistry.DEFAULT_SCRIPT_LOCATION));
+	}
+}
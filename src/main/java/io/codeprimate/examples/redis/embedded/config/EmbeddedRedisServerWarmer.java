@@ -0,0 +1,170 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import io.codeprimate.examples.redis.embedded.support.StartupTimeline;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.util.Assert;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Spring {@link SmartLifecycle} bean warming up connections to the embedded Redis server as soon as the server
+ * has started, and before the application context finishes starting.
+ * <p/>
+ * Lettuce connects lazily, so without warm-up, the first command pays for connection setup, codec class loading
+ * and cold JIT-compiled code paths. Warm-up establishes the (shared) connection and then runs a configurable number
+ * of representative commands and serializer round trips through the {@link RedisTemplate}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerWarmupProperties
+ * @see org.springframework.context.SmartLifecycle
+ * @see org.springframework.data.redis.core.RedisTemplate
+ * @since 0.1.0
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class EmbeddedRedisServerWarmer implements SmartLifecycle {
+
+	/**
+	 * {@link SmartLifecycle} phase in which warm-up runs, once the embedded Redis server and its connection factory
+	 * have started.
+	 */
+	public static final int WARMUP_PHASE = EmbeddedRedisServerFactoryBean.EMBEDDED_REDIS_CLIENT_PHASE;
+
+	protected static final String WARMUP_KEY = "embedded-redis:warmup";
+
+	private volatile boolean running;
+
+	private volatile Duration warmupDuration = Duration.ZERO;
+
+	private final EmbeddedRedisServerWarmupProperties properties;
+
+	private final RedisTemplate<String, Object> redisTemplate;
+
+	private final StartupTimeline startupTimeline;
+
+	public EmbeddedRedisServerWarmer(RedisTemplate<String, Object> redisTemplate,
+			EmbeddedRedisServerWarmupProperties properties) {
+
+		this(redisTemplate, properties, new StartupTimeline());
+	}
+
+	public EmbeddedRedisServerWarmer(RedisTemplate<String, Object> redisTemplate,
+			EmbeddedRedisServerWarmupProperties properties, StartupTimeline startupTimeline) {
+
+		Assert.notNull(redisTemplate, "RedisTemplate is required");
+		Assert.notNull(properties, "Warm-up properties are required");
+		Assert.notNull(startupTimeline, "StartupTimeline is required");
+
+		this.redisTemplate = redisTemplate;
+		this.properties = properties;
+		this.startupTimeline = startupTimeline;
+	}
+
+	/**
+	 * Returns the time taken to warm up connections to the embedded Redis server.
+	 *
+	 * @return the {@link Duration} of the warm-up; {@link Duration#ZERO} if warm-up is disabled or has not run.
+	 */
+	public Duration getWarmupDuration() {
+		return this.warmupDuration;
+	}
+
+	@Override
+	public int getPhase() {
+		return WARMUP_PHASE;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.running;
+	}
+
+	@Override
+	public void start() {
+
+		if (this.properties.isEnabled()) {
+
+			int iterations = this.properties.iterationsOrDefault();
+			long startTime = System.nanoTime();
+
+			this.startupTimeline.record("warmup", () -> {
+				warmUpConnection();
+				warmUpCommands(iterations);
+			});
+
+			this.warmupDuration = Duration.ofNanos(System.nanoTime() - startTime);
+
+			if (log.isInfoEnabled()) {
+				log.info("Warmed up embedded Redis server connections in [{}] ms with [{}] iterations",
+					this.warmupDuration.toMillis(), iterations);
+			}
+		}
+
+		this.running = true;
+	}
+
+	private void warmUpConnection() {
+
+		RedisConnectionFactory connectionFactory = this.redisTemplate.getRequiredConnectionFactory();
+
+		try (RedisConnection connection = connectionFactory.getConnection()) {
+			connection.ping();
+		}
+	}
+
+	private void warmUpCommands(int iterations) {
+
+		ValueOperations<String, Object> valueOperations = this.redisTemplate.opsForValue();
+		HashOperations<String, Object, Object> hashOperations = this.redisTemplate.opsForHash();
+
+		String hashKey = WARMUP_KEY.concat(":hash");
+
+		try {
+			for (int iteration = 0; iteration < iterations; iteration++) {
+
+				Map<String, Object> value = Map.of("id", iteration, "name", WARMUP_KEY, "tags", List.of("a", "b"));
+
+				this.redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+				valueOperations.set(WARMUP_KEY, value);
+				valueOperations.get(WARMUP_KEY);
+				hashOperations.put(hashKey, "iteration", iteration);
+				hashOperations.entries(hashKey);
+				this.redisTemplate.hasKey(WARMUP_KEY);
+			}
+		}
+		finally {
+			this.redisTemplate.delete(List.of(WARMUP_KEY, hashKey));
+		}
+	}
+
+	@Override
+	public void stop() {
+		this.running = false;
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import java.util.Optional;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.Assert;
+
+/**
+ * Spring {@link ConfigurationProperties} containing configuration metadata for the warm-up of connections
+ * to the embedded Redis server, performed before the application context finishes starting.
+ *
+ * @author John Blum
+ * @param enabled {@link Boolean} indicating whether warm-up is enabled; disabled by default.
+ * @param iterations number of times the representative commands are run.
+ * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerWarmer
+ * @see org.springframework.boot.context.properties.ConfigurationProperties
+ * @since 0.1.0
+ */
+@ConfigurationProperties("redis.server.warmup")
+@SuppressWarnings("unused")
+public record EmbeddedRedisServerWarmupProperties(Boolean enabled, Integer iterations) {
+
+	public static final int DEFAULT_ITERATIONS = 1000;
+
+	public EmbeddedRedisServerWarmupProperties {
+		boolean isValidIterations = iterations == null || iterations >= 0;
+		Assert.isTrue(isValidIterations, () -> "Iterations [%d] must not be negative".formatted(iterations));
+	}
+
+	public boolean isEnabled() {
+		return Boolean.TRUE.equals(enabled());
+	}
+
+	public int iterationsOrDefault() {
+		return Optional.ofNullable(iterations()).orElse(DEFAULT_ITERATIONS);
+	}
+}
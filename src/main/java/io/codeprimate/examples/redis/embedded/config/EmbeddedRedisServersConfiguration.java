@@ -0,0 +1,41 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import redis.embedded.RedisServer;
+
+/**
+ * Spring {@link Configuration} shared by the multiple, named embedded {@link RedisServer Redis servers}
+ * registered by the {@link EmbeddedRedisServersRegistrar}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServersRegistrar
+ * @see io.codeprimate.examples.redis.embedded.config.EnableEmbeddedRedisServers
+ * @see org.springframework.context.annotation.Configuration
+ * @see redis.embedded.RedisServer
+ * @since 0.1.0
+ */
+@Configuration
+@EnableConfigurationProperties(EmbeddedRedisServerProperties.class)
+@ImportRuntimeHints(EmbeddedRedisServerRuntimeHints.class)
+@SuppressWarnings("unused")
+public class EmbeddedRedisServersConfiguration {
+
+}
@@ -0,0 +1,157 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import io.codeprimate.examples.redis.embedded.connection.EmbeddedRedisServerConnectionFactory;
+import io.codeprimate.examples.redis.embedded.core.ShardedRedisTemplate;
+
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.ManagedMap;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import redis.embedded.RedisServer;
+
+/**
+ * Spring {@link ImportBeanDefinitionRegistrar} registering an embedded {@link RedisServer},
+ * {@link EmbeddedRedisServerConnectionFactory} and {@link RedisTemplate} for each named server declared with
+ * {@link EnableEmbeddedRedisServers}, along with a {@link ShardedRedisTemplate} routing keys across all servers.
+ * <p/>
+ * For a server named {@literal shardOne}, the beans are named {@literal shardOneEmbeddedRedisServer},
+ * {@literal shardOneEmbeddedRedisConnectionFactory} and {@literal shardOneEmbeddedRedisTemplate}.
+ * <p/>
+ * Only the server, connection factory and template are registered per server. Warm-up, the startup timeline,
+ * slow command monitoring and Lua script preloading are provided by {@link EmbeddedRedisServerConfiguration}
+ * for a single server declared with {@link EnableEmbeddedRedisServer} and are not applied to named servers.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.config.EnableEmbeddedRedisServers
+ * @see io.codeprimate.examples.redis.embedded.core.ShardedRedisTemplate
+ * @see org.springframework.context.annotation.ImportBeanDefinitionRegistrar
+ * @since 0.1.0
+ */
+@SuppressWarnings("unused")
+public class EmbeddedRedisServersRegistrar implements ImportBeanDefinitionRegistrar {
+
+	public static final String SHARDED_REDIS_TEMPLATE_BEAN_NAME = "shardedEmbeddedRedisTemplate";
+
+	protected static final String CONNECTION_FACTORY_BEAN_NAME_SUFFIX = "EmbeddedRedisConnectionFactory";
+	protected static final String REDIS_SERVER_BEAN_NAME_SUFFIX = "EmbeddedRedisServer";
+	protected static final String REDIS_TEMPLATE_BEAN_NAME_SUFFIX = "EmbeddedRedisTemplate";
+
+	@Override
+	public void registerBeanDefinitions(@NonNull AnnotationMetadata importingClassMetadata,
+			@NonNull BeanDefinitionRegistry registry) {
+
+		AnnotationAttributes enableEmbeddedRedisServersAttributes = AnnotationAttributes.fromMap(
+			importingClassMetadata.getAnnotationAttributes(EnableEmbeddedRedisServers.class.getName()));
+
+		if (enableEmbeddedRedisServersAttributes != null) {
+
+			ManagedMap<String, RuntimeBeanReference> shards = new ManagedMap<>();
+			Set<String> names = new HashSet<>();
+			Set<Integer> ports = new HashSet<>();
+
+			AnnotationAttributes[] serversAttributes = enableEmbeddedRedisServersAttributes.getAnnotationArray("value");
+
+			for (AnnotationAttributes serverAttributes : serversAttributes) {
+
+				String name = serverAttributes.getString("name");
+				int port = serverAttributes.getNumber("port");
+
+				Assert.state(StringUtils.hasText(name), "A name is required for each of multiple embedded Redis servers");
+				Assert.state(names.add(name), () -> "Embedded Redis server name [%s] is not unique".formatted(name));
+				// Servers declared with the default port are each assigned an available, ephemeral port
+				Assert.state(!isCustomPort(port) || ports.add(port),
+					() -> "Embedded Redis server port [%d] is not unique".formatted(port));
+
+				String redisServerBeanName = registerRedisServer(registry, name, port);
+				String connectionFactoryBeanName = registerConnectionFactory(registry, name, redisServerBeanName);
+				String redisTemplateBeanName = registerRedisTemplate(registry, name, connectionFactoryBeanName);
+
+				shards.put(name, new RuntimeBeanReference(redisTemplateBeanName));
+			}
+
+			registerShardedRedisTemplate(registry, shards);
+		}
+	}
+
+	private boolean isCustomPort(int port) {
+		return port > 0 && port != EmbeddedRedisServerConfiguration.REDIS_PORT;
+	}
+
+	private String registerRedisServer(BeanDefinitionRegistry registry, String name, int port) {
+
+		RootBeanDefinition beanDefinition = new RootBeanDefinition(EmbeddedRedisServerFactoryBean.class);
+
+		beanDefinition.getConstructorArgumentValues()
+			.addIndexedArgumentValue(0, new RuntimeBeanReference(EmbeddedRedisServerProperties.class));
+		beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(1, port);
+
+		return register(registry, name + REDIS_SERVER_BEAN_NAME_SUFFIX, beanDefinition);
+	}
+
+	private String registerConnectionFactory(BeanDefinitionRegistry registry, String name,
+			String redisServerBeanName) {
+
+		RootBeanDefinition beanDefinition = new RootBeanDefinition(EmbeddedRedisServerConnectionFactory.class);
+
+		beanDefinition.getConstructorArgumentValues()
+			.addIndexedArgumentValue(0, new RuntimeBeanReference(redisServerBeanName));
+
+		return register(registry, name + CONNECTION_FACTORY_BEAN_NAME_SUFFIX, beanDefinition);
+	}
+
+	private String registerRedisTemplate(BeanDefinitionRegistry registry, String name,
+			String connectionFactoryBeanName) {
+
+		RootBeanDefinition beanDefinition = new RootBeanDefinition(RedisTemplate.class);
+
+		beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(RedisTemplate.class, String.class, Object.class));
+		beanDefinition.getPropertyValues()
+			.add("connectionFactory", new RuntimeBeanReference(connectionFactoryBeanName));
+
+		return register(registry, name + REDIS_TEMPLATE_BEAN_NAME_SUFFIX, beanDefinition);
+	}
+
+	private void registerShardedRedisTemplate(BeanDefinitionRegistry registry,
+			ManagedMap<String, RuntimeBeanReference> shards) {
+
+		RootBeanDefinition beanDefinition = new RootBeanDefinition(ShardedRedisTemplate.class);
+
+		beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(ShardedRedisTemplate.class,
+			String.class, Object.class));
+		beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(0, shards);
+
+		register(registry, SHARDED_REDIS_TEMPLATE_BEAN_NAME, beanDefinition);
+	}
+
+	private String register(BeanDefinitionRegistry registry, String beanName, RootBeanDefinition beanDefinition) {
+		registry.registerBeanDefinition(beanName, beanDefinition);
+		return beanName;
+	}
+}
@@ -19,6 +19,7 @@ import java.lang.annotation.Annotation;
 import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
@@ -29,12 +30,18 @@ import redis.embedded.RedisServer;
 
 /**
  * Java {@link Annotation} used to enable the embedded {@link RedisServer}.
+ * <p/>
+ * This {@link Annotation} is {@link Repeatable}. Declaring it more than once forks multiple, independent Redis servers,
+ * each identified by its {@link #name()}, along with a {@link io.codeprimate.examples.redis.embedded.core.ShardedRedisTemplate}
+ * routing keys across all of them.
  *
  * @author John Blum
  * @see java.lang.annotation.Annotation
+ * @see java.lang.annotation.Repeatable
  * @see redis.embedded.RedisServer
  * @see org.springframework.context.annotation.Import
  * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerConfiguration
+ * @see io.codeprimate.examples.redis.embedded.config.EnableEmbeddedRedisServers
  * @since 0.1.0
  */
 @Documented
@@ -42,9 +49,15 @@ import redis.embedded.RedisServer;
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ ElementType.ANNOTATION_TYPE, ElementType.TYPE })
 @Import(EmbeddedRedisServerConfiguration.class)
+@Repeatable(EnableEmbeddedRedisServers.class)
 @SuppressWarnings("unused")
 public @interface EnableEmbeddedRedisServer {
 
+	/**
+	 * Name of the embedded Redis server; required, and must be unique, when more than 1 server is declared.
+	 */
+	String name() default "";
+
 	int port() default EmbeddedRedisServerConfiguration.REDIS_PORT;
 
 }
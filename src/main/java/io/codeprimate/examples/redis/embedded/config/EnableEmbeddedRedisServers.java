@@ -0,0 +1,53 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.context.annotation.Import;
+
+import redis.embedded.RedisServer;
+
+/**
+ * Java {@link Annotation} containing multiple {@link EnableEmbeddedRedisServer} declarations, used to fork
+ * several named, independent embedded {@link RedisServer Redis servers}.
+ *
+ * @author John Blum
+ * @see java.lang.annotation.Annotation
+ * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServersConfiguration
+ * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServersRegistrar
+ * @see io.codeprimate.examples.redis.embedded.config.EnableEmbeddedRedisServer
+ * @see org.springframework.context.annotation.Import
+ * @see redis.embedded.RedisServer
+ * @since 0.1.0
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.TYPE })
+@Import({ EmbeddedRedisServersConfiguration.class, EmbeddedRedisServersRegistrar.class })
+@SuppressWarnings("unused")
+public @interface EnableEmbeddedRedisServers {
+
+	EnableEmbeddedRedisServer[] value();
+
+}
@@ -16,19 +16,18 @@
 package io.codeprimate.examples.redis.embedded.config.support;
 
 import java.lang.annotation.Annotation;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Supplier;
 
 import org.springframework.context.annotation.ImportAware;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.type.AnnotationMetadata;
-import org.springframework.data.util.TypeInformation;
 import org.springframework.util.Assert;
-import org.springframework.util.ClassUtils;
 
 /**
  * Abstract Spring {@link ImportAware} implementation supporting configuration through {@link Annotation} metadata.
+ * <p/>
+ * Subclasses pass the {@link Annotation} type to {@link #AbstractImportAwareSupport(Class)}, so it is never
+ * resolved reflectively from the generic type argument of the subclass, which would require additional reflection
+ * metadata in a GraalVM native image.
  *
  * @author John Blum
  * @see java.lang.annotation.Annotation
@@ -40,7 +39,12 @@ import org.springframework.util.ClassUtils;
 @SuppressWarnings("unused")
 public abstract class AbstractImportAwareSupport<T extends Annotation> implements ImportAware {
 
-	private final AtomicReference<Class<T>> resolvedAnnotationTypeReference = new AtomicReference<>(null);
+	private final Class<T> annotationType;
+
+	protected AbstractImportAwareSupport(Class<T> annotationType) {
+		Assert.notNull(annotationType, "Annotation type is required");
+		this.annotationType = annotationType;
+	}
 
 	protected void assertAnnotationPresent(AnnotationMetadata metadata) {
 		Assert.state(isAnnotationPresent(metadata), () -> "Annotation [%s] was not declared"
@@ -62,29 +66,7 @@ public abstract class AbstractImportAwareSupport<T extends Annotation> implement
 		return getAnnotationType().getName();
 	}
 
-	@SuppressWarnings("all")
 	protected Class<T> getAnnotationType() {
-
-		Supplier<Class<T>> resolvingAnnotationTypeSupplier = () -> {
-
-			List<TypeInformation<?>> typeArguments = TypeInformation.of(getClass())
-				.getRequiredSuperTypeInformation(AbstractImportAwareSupport.class)
-				.getTypeArguments();
-
-			Assert.isTrue(typeArguments.size() == 1, () ->
-				"Type arguments [%s] of class [%s] require an Annotation type enabling this configuration"
-					.formatted(typeArguments, ClassUtils.getUserClass(getClass())));
-
-			TypeInformation annotationTypeArgument = typeArguments.get(0);
-
-			Class<T> annotationType = (Class<T>) annotationTypeArgument.toTypeDescriptor()
-				.getResolvableType()
-				.getRawClass();
-
-			return annotationType;
-		};
-
-		return this.resolvedAnnotationTypeReference.updateAndGet(annotationType ->
-			annotationType != null ? annotationType : resolvingAnnotationTypeSupplier.get());
+		return this.annotationType;
 	}
 }
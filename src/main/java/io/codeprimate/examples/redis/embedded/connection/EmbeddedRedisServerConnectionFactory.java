@@ -16,8 +16,14 @@
 package io.codeprimate.examples.redis.embedded.connection;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.function.BiFunction;
 
+import io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerFactoryBean;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.Lifecycle;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.connection.RedisClusterConnection;
 import org.springframework.data.redis.connection.RedisConnection;
@@ -36,15 +42,20 @@ import redis.embedded.RedisServer;
  * Uses the Lettuce Redis Client Driver and {@link LettuceConnectionFactory} by default.
  * Override {@link #newRedisConnectionFactory(RedisServer)} to use a different Redis Client Driver. Becareful not to
  * let the {@literal this} reference to escape in a multithreaded application environment!
+ * <p/>
+ * The Redis client driver is stopped in its own {@link SmartLifecycle} phase, after the clients using this factory,
+ * but before the embedded Redis server, and is destroyed along with this factory.
  *
  * @author John Blum
+ * @see org.springframework.beans.factory.DisposableBean
+ * @see org.springframework.context.SmartLifecycle
  * @see org.springframework.data.redis.connection.RedisConnectionFactory
  * @see org.springframework.data.redis.connection.RedisConnection
  * @see redis.embedded.RedisServer
  * @since 0.1.0
  */
 @SuppressWarnings("all")
-public class EmbeddedRedisServerConnectionFactory implements RedisConnectionFactory {
+public class EmbeddedRedisServerConnectionFactory implements RedisConnectionFactory, SmartLifecycle, DisposableBean {
 
 	public static final int DEFAULT_REDIS_PORT = 6379;
 
@@ -123,6 +134,41 @@ public class EmbeddedRedisServerConnectionFactory implements RedisConnectionFact
 		return this.redisServer;
 	}
 
+	private Optional<Lifecycle> getRedisConnectionFactoryLifecycle() {
+
+		return Optional.ofNullable(getRedisConnectionFactory())
+			.filter(Lifecycle.class::isInstance)
+			.map(Lifecycle.class::cast);
+	}
+
+	@Override
+	public int getPhase() {
+		return EmbeddedRedisServerFactoryBean.EMBEDDED_REDIS_CONNECTION_FACTORY_PHASE;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return getRedisConnectionFactoryLifecycle().filter(Lifecycle::isRunning).isPresent();
+	}
+
+	@Override
+	public void start() {
+		getRedisConnectionFactoryLifecycle().filter(lifecycle -> !lifecycle.isRunning()).ifPresent(Lifecycle::start);
+	}
+
+	@Override
+	public void stop() {
+		getRedisConnectionFactoryLifecycle().ifPresent(Lifecycle::stop);
+	}
+
+	@Override
+	public void destroy() throws Exception {
+
+		if (getRedisConnectionFactory() instanceof DisposableBean disposableRedisConnectionFactory) {
+			disposableRedisConnectionFactory.destroy();
+		}
+	}
+
 	@Override
 	public boolean getConvertPipelineAndTxResults() {
 		return getRedisConnectionFactory().getConvertPipelineAndTxResults();
@@ -0,0 +1,131 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.connection;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.output.CommandOutput;
+import io.lettuce.core.output.IntegerOutput;
+import io.lettuce.core.output.NestedMultiOutput;
+import io.lettuce.core.output.StatusOutput;
+
+/**
+ * Abstract utility class used to execute Redis commands not covered by the Spring Data Redis API
+ * (e.g. {@literal MEMORY USAGE}, {@literal SLOWLOG GET}) with a {@link RedisConnection}.
+ * <p/>
+ * Lettuce decodes replies according to a {@link CommandOutput} type hint, which Spring Data Redis cannot infer
+ * for these commands. A matching hint is supplied when Lettuce is on the classpath and the {@link RedisConnection}
+ * is a {@link LettuceConnection}. Lettuce types are only referenced from a nested holder class, so this class
+ * can be used with Jedis alone, in which case commands are run with {@link RedisConnection#execute(String, byte[]...)}.
+ * Be sure to pass the target {@link RedisConnection}, and not a proxy (e.g. from a
+ * {@link org.springframework.data.redis.core.RedisTemplate} callback).
+ *
+ * @author John Blum
+ * @see org.springframework.data.redis.connection.RedisConnection#execute(String, byte[]...)
+ * @see org.springframework.data.redis.connection.lettuce.LettuceConnection
+ * @since 0.1.0
+ */
+@SuppressWarnings("unused")
+public abstract class RedisCommandSupport {
+
+	private static final boolean LETTUCE_PRESENT =
+		ClassUtils.isPresent("io.lettuce.core.RedisClient", RedisCommandSupport.class.getClassLoader());
+
+	public static byte[] toBytes(@NonNull String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	public static byte[][] toBytes(@NonNull String... values) {
+		return Arrays.stream(values).map(RedisCommandSupport::toBytes).toArray(byte[][]::new);
+	}
+
+	public static String toString(@Nullable Object value) {
+		return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(value);
+	}
+
+	@Nullable
+	public static Long executeForInteger(@NonNull RedisConnection connection, @NonNull String command,
+			byte[]... args) {
+
+		Object result = execute(connection, command, ReplyType.INTEGER, args);
+
+		return result instanceof Number number ? Long.valueOf(number.longValue())
+			: result != null ? Long.valueOf(toString(result))
+			: null;
+	}
+
+	@Nullable
+	public static String executeForStatus(@NonNull RedisConnection connection, @NonNull String command,
+			byte[]... args) {
+
+		Object result = execute(connection, command, ReplyType.STATUS, args);
+
+		return result != null ? toString(result) : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static List<Object> executeForList(@NonNull RedisConnection connection, @NonNull String command,
+			byte[]... args) {
+
+		Object result = execute(connection, command, ReplyType.LIST, args);
+
+		return result instanceof List<?> list ? (List<Object>) list : Collections.emptyList();
+	}
+
+	private static Object execute(RedisConnection connection, String command, ReplyType replyType, byte[]... args) {
+
+		return LETTUCE_PRESENT && LettuceCommandSupport.isLettuceConnection(connection)
+			? LettuceCommandSupport.execute(connection, command, replyType, args)
+			: connection.execute(command, args);
+	}
+
+	private enum ReplyType {
+		INTEGER, LIST, STATUS
+	}
+
+	// Only loaded when Lettuce is on the classpath
+	private static final class LettuceCommandSupport {
+
+		private static boolean isLettuceConnection(RedisConnection connection) {
+			return connection instanceof LettuceConnection;
+		}
+
+		private static Object execute(RedisConnection connection, String command, ReplyType replyType,
+				byte[]... args) {
+
+			return ((LettuceConnection) connection).execute(command, commandOutputTypeHint(replyType), args);
+		}
+
+		private static CommandOutput<byte[], byte[], ?> commandOutputTypeHint(ReplyType replyType) {
+
+			return switch (replyType) {
+				case INTEGER -> new IntegerOutput<>(ByteArrayCodec.INSTANCE);
+				case LIST -> new NestedMultiOutput<>(ByteArrayCodec.INSTANCE);
+				case STATUS -> new StatusOutput<>(ByteArrayCodec.INSTANCE);
+			};
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.core;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import io.codeprimate.examples.redis.embedded.support.ConsistentHashRing;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Client-side sharded template routing keys across multiple, independent Redis servers (not a Redis Cluster)
+ * by consistent hashing.
+ * <p/>
+ * Single-key operations are sent to the shard owning the key. Multi-key operations are split by shard
+ * and fanned out to the shards in parallel.
+ *
+ * @author John Blum
+ * @param <K> {@link Class type} of the keys.
+ * @param <V> {@link Class type} of the values.
+ * @see io.codeprimate.examples.redis.embedded.support.ConsistentHashRing
+ * @see org.springframework.data.redis.core.RedisTemplate
+ * @since 0.1.0
+ */
+@SuppressWarnings("unused")
+public class ShardedRedisTemplate<K, V> implements DisposableBean {
+
+	private final ConsistentHashRing<RedisTemplate<K, V>> shards;
+
+	private final ExecutorService executorService;
+
+	public ShardedRedisTemplate(@NonNull Map<String, RedisTemplate<K, V>> shards) {
+		this(shards, ConsistentHashRing.DEFAULT_VIRTUAL_NODES);
+	}
+
+	public ShardedRedisTemplate(@NonNull Map<String, RedisTemplate<K, V>> shards, int virtualNodes) {
+
+		Assert.notEmpty(shards, "Shards are required");
+
+		this.shards = new ConsistentHashRing<>(shards, virtualNodes);
+		this.executorService = Executors.newFixedThreadPool(shards.size(), newThreadFactory());
+	}
+
+	private CustomizableThreadFactory newThreadFactory() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("sharded-redis-template-");
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+	public RedisTemplate<K, V> getShard(@NonNull K key) {
+		return this.shards.getNode(serializeKey(key));
+	}
+
+	public String getShardName(@NonNull K key) {
+		return this.shards.getNodeName(serializeKey(key));
+	}
+
+	public Map<String, RedisTemplate<K, V>> getShards() {
+		return this.shards.getNodes();
+	}
+
+	@SuppressWarnings("unchecked")
+	private byte[] serializeKey(K key) {
+
+		Assert.notNull(key, "Key is required");
+
+		RedisTemplate<K, V> template = getShards().values().iterator().next();
+		RedisSerializer<K> keySerializer = (RedisSerializer<K>) template.getKeySerializer();
+		byte[] serializedKey = keySerializer != null ? keySerializer.serialize(key) : null;
+
+		return serializedKey != null ? serializedKey : String.valueOf(key).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Nullable
+	public V get(@NonNull K key) {
+		return getShard(key).opsForValue().get(key);
+	}
+
+	public void set(@NonNull K key, V value) {
+		getShard(key).opsForValue().set(key, value);
+	}
+
+	public void set(@NonNull K key, V value, @NonNull Duration timeout) {
+		getShard(key).opsForValue().set(key, value, timeout);
+	}
+
+	public boolean delete(@NonNull K key) {
+		return Boolean.TRUE.equals(getShard(key).delete(key));
+	}
+
+	public long delete(@NonNull Collection<K> keys) {
+
+		return fanOut(groupByShard(keys), RedisTemplate::delete).values().stream()
+			.mapToLong(deleted -> deleted != null ? deleted : 0L)
+			.sum();
+	}
+
+	public long countExistingKeys(@NonNull Collection<K> keys) {
+
+		return fanOut(groupByShard(keys), RedisTemplate::countExistingKeys).values().stream()
+			.mapToLong(count -> count != null ? count : 0L)
+			.sum();
+	}
+
+	/**
+	 * Gets the values for all given keys, in the order of the keys, from each shard in parallel.
+	 *
+	 * @param keys {@link Collection} of keys to get.
+	 * @return {@link List} of values in the order of the given keys; {@literal null} for missing keys.
+	 */
+	public List<V> multiGet(@NonNull Collection<K> keys) {
+
+		List<K> orderedKeys = new ArrayList<>(keys);
+		Map<String, List<K>> keysByShard = groupByShard(orderedKeys);
+
+		Map<String, List<V>> valuesByShard = fanOut(keysByShard, (template, shardKeys) ->
+			template.opsForValue().multiGet(shardKeys));
+
+		Map<K, V> values = new LinkedHashMap<>();
+
+		keysByShard.forEach((shardName, shardKeys) -> {
+			List<V> shardValues = valuesByShard.get(shardName);
+			for (int index = 0; index < shardKeys.size(); index++) {
+				values.put(shardKeys.get(index), shardValues != null ? shardValues.get(index) : null);
+			}
+		});
+
+		return orderedKeys.stream().map(values::get).toList();
+	}
+
+	public void multiSet(@NonNull Map<K, V> keyValues) {
+
+		Map<String, Map<K, V>> keyValuesByShard = new LinkedHashMap<>();
+
+		keyValues.forEach((key, value) ->
+			keyValuesByShard.computeIfAbsent(getShardName(key), shardName -> new LinkedHashMap<>()).put(key, value));
+
+		fanOut(keyValuesByShard, (template, shardKeyValues) -> {
+			template.opsForValue().multiSet(shardKeyValues);
+			return Boolean.TRUE;
+		});
+	}
+
+	/**
+	 * Executes the given {@link Function} against every shard in parallel.
+	 *
+	 * @param <T> {@link Class type} of the result.
+	 * @param function {@link Function} to execute against each shard's {@link RedisTemplate}.
+	 * @return {@link Map} of shard names to the result from the shard.
+	 */
+	public <T> Map<String, T> executeOnAllShards(@NonNull Function<RedisTemplate<K, V>, T> function) {
+
+		Assert.notNull(function, "Function is required");
+
+		Map<String, Object> allShards = new LinkedHashMap<>();
+
+		getShards().keySet().forEach(shardName -> allShards.put(shardName, shardName));
+
+		return fanOut(allShards, (template, shardName) -> function.apply(template));
+	}
+
+	private Map<String, List<K>> groupByShard(Collection<K> keys) {
+
+		Assert.notNull(keys, "Keys are required");
+
+		Map<String, List<K>> keysByShard = new LinkedHashMap<>();
+
+		keys.forEach(key -> keysByShard.computeIfAbsent(getShardName(key), shardName -> new ArrayList<>()).add(key));
+
+		return keysByShard;
+	}
+
+	private <S, T> Map<String, T> fanOut(Map<String, S> argumentsByShard,
+			BiFunction<RedisTemplate<K, V>, S, T> operation) {
+
+		Map<String, T> results = new LinkedHashMap<>();
+
+		// Avoid a thread hand-off when all keys belong to the same shard
+		if (argumentsByShard.size() == 1) {
+			argumentsByShard.forEach((shardName, arguments) ->
+				results.put(shardName, operation.apply(getShards().get(shardName), arguments)));
+			return results;
+		}
+
+		Map<String, CompletableFuture<T>> futures = new LinkedHashMap<>();
+
+		argumentsByShard.forEach((shardName, arguments) -> futures.put(shardName, CompletableFuture.supplyAsync(() ->
+			operation.apply(getShards().get(shardName), arguments), this.executorService)));
+
+		try {
+			futures.forEach((shardName, future) -> results.put(shardName, future.join()));
+		}
+		catch (CompletionException e) {
+			throw e.getCause() instanceof RuntimeException cause ? cause : e;
+		}
+
+		return results;
+	}
+
+	@Override
+	public void destroy() {
+		this.executorService.shutdownNow();
+	}
+}
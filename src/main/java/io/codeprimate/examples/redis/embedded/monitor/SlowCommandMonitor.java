@@ -0,0 +1,324 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.monitor;
+
+import static io.codeprimate.examples.redis.embedded.connection.RedisCommandSupport.executeForList;
+import static io.codeprimate.examples.redis.embedded.connection.RedisCommandSupport.executeForStatus;
+import static io.codeprimate.examples.redis.embedded.connection.RedisCommandSupport.toBytes;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerFactoryBean;
+import io.codeprimate.examples.redis.embedded.connection.RedisCommandSupport;
+import io.codeprimate.examples.redis.embedded.monitor.SlowCommandReport.LatencyEvent;
+import io.codeprimate.examples.redis.embedded.monitor.SlowCommandReport.SlowCommand;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Spring {@link SmartLifecycle} bean enabling the {@literal SLOWLOG} and {@literal LATENCY} monitor on a Redis server
+ * and harvesting the recorded slow commands and latency events, periodically and when stopped.
+ * <p/>
+ * Harvested entries accumulate until {@link #drain() drained}, so that a report can be produced per test class
+ * (see {@link #writeReport(String)}), even when the application context is shared by several test classes.
+ * Draining also resets the Redis server's {@literal LATENCY} monitor, so that latency spikes are reported only once.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.monitor.SlowCommandReport
+ * @see org.springframework.context.SmartLifecycle
+ * @see org.springframework.data.redis.connection.RedisConnectionFactory
+ * @since 0.1.0
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class SlowCommandMonitor implements SmartLifecycle {
+
+	public static final Duration DEFAULT_HARVEST_INTERVAL = Duration.ofSeconds(5);
+	public static final Duration DEFAULT_LATENCY_THRESHOLD = Duration.ofMillis(10);
+	public static final Duration DEFAULT_SLOWLOG_THRESHOLD = Duration.ofMillis(10);
+
+	public static final int DEFAULT_SLOWLOG_MAX_LENGTH = 1024;
+
+	/**
+	 * {@link SmartLifecycle} phase in which the monitor is started, after the embedded Redis server and its connection
+	 * factory, and stopped before them.
+	 */
+	public static final int MONITOR_PHASE = EmbeddedRedisServerFactoryBean.EMBEDDED_REDIS_CLIENT_PHASE;
+
+	public static final String SHUTDOWN_REPORT_NAME = "embedded-redis-shutdown";
+
+	private volatile boolean running;
+
+	private long lastSlowCommandId = -1L;
+
+	private final Duration harvestInterval;
+	private final Duration latencyThreshold;
+	private final Duration slowlogThreshold;
+
+	private final int slowlogMaxLength;
+
+	private final List<SlowCommand> slowCommands = new ArrayList<>();
+
+	private final Map<String, LatencyEvent> latencyEvents = new LinkedHashMap<>();
+
+	@Nullable
+	private final Path reportDirectory;
+
+	private final RedisConnectionFactory connectionFactory;
+
+	@Nullable
+	private ScheduledExecutorService harvestExecutor;
+
+	public SlowCommandMonitor(@NonNull RedisConnectionFactory connectionFactory) {
+		this(connectionFactory, DEFAULT_SLOWLOG_THRESHOLD, DEFAULT_LATENCY_THRESHOLD, DEFAULT_SLOWLOG_MAX_LENGTH,
+			DEFAULT_HARVEST_INTERVAL, null);
+	}
+
+	public SlowCommandMonitor(@NonNull RedisConnectionFactory connectionFactory, @NonNull Duration slowlogThreshold,
+			@NonNull Duration latencyThreshold, int slowlogMaxLength, @NonNull Duration harvestInterval,
+			@Nullable Path reportDirectory) {
+
+		Assert.notNull(connectionFactory, "RedisConnectionFactory is required");
+		Assert.isTrue(slowlogThreshold != null && !slowlogThreshold.isNegative(),
+			() -> "Slowlog threshold [%s] must not be negative".formatted(slowlogThreshold));
+		Assert.isTrue(latencyThreshold != null && !latencyThreshold.isNegative(),
+			() -> "Latency threshold [%s] must not be negative".formatted(latencyThreshold));
+		Assert.isTrue(slowlogMaxLength > 0, () -> "Slowlog max length [%d] must be greater than 0"
+			.formatted(slowlogMaxLength));
+		Assert.isTrue(harvestInterval != null && !harvestInterval.isNegative(),
+			() -> "Harvest interval [%s] must not be negative".formatted(harvestInterval));
+
+		this.connectionFactory = connectionFactory;
+		this.slowlogThreshold = slowlogThreshold;
+		this.latencyThreshold = latencyThreshold;
+		this.slowlogMaxLength = slowlogMaxLength;
+		this.harvestInterval = harvestInterval;
+		this.reportDirectory = reportDirectory;
+	}
+
+	public Optional<Path> getReportDirectory() {
+		return Optional.ofNullable(this.reportDirectory);
+	}
+
+	@Override
+	public int getPhase() {
+		return MONITOR_PHASE;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.running;
+	}
+
+	@Override
+	public void start() {
+
+		try (RedisConnection connection = this.connectionFactory.getConnection()) {
+
+			connection.serverCommands().setConfig("slowlog-log-slower-than",
+				String.valueOf(this.slowlogThreshold.toNanos() / 1_000L));
+			connection.serverCommands().setConfig("slowlog-max-len", String.valueOf(this.slowlogMaxLength));
+			connection.serverCommands().setConfig("latency-monitor-threshold",
+				String.valueOf(this.latencyThreshold.toMillis()));
+
+			executeForStatus(connection, "SLOWLOG", toBytes("RESET"));
+			executeForStatus(connection, "LATENCY", toBytes("RESET"));
+		}
+
+		if (!this.harvestInterval.isZero()) {
+
+			long harvestIntervalMillis = this.harvestInterval.toMillis();
+
+			this.harvestExecutor = Executors.newSingleThreadScheduledExecutor(newThreadFactory());
+			this.harvestExecutor.scheduleWithFixedDelay(this::harvestQuietly,
+				harvestIntervalMillis, harvestIntervalMillis, TimeUnit.MILLISECONDS);
+		}
+
+		this.running = true;
+	}
+
+	private CustomizableThreadFactory newThreadFactory() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("redis-slowlog-harvester-");
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+	@Override
+	public void stop() {
+
+		Optional.ofNullable(this.harvestExecutor).ifPresent(ScheduledExecutorService::shutdownNow);
+		this.harvestExecutor = null;
+
+		harvestQuietly();
+
+		this.running = false;
+
+		getReportDirectory().ifPresent(reportDirectory -> {
+			SlowCommandReport report = drain();
+			if (!report.isEmpty()) {
+				report.writeTo(reportDirectory.resolve(SHUTDOWN_REPORT_NAME.concat(".txt")));
+			}
+		});
+	}
+
+	/**
+	 * Harvests new entries from the Redis server's {@literal SLOWLOG} and {@literal LATENCY} monitor.
+	 */
+	public synchronized void harvest() {
+		harvest(false);
+	}
+
+	private void harvest(boolean resetLatencyMonitor) {
+
+		try (RedisConnection connection = this.connectionFactory.getConnection()) {
+
+			List<Object> slowlogEntries = executeForList(connection, "SLOWLOG",
+				toBytes("GET"), toBytes(String.valueOf(this.slowlogMaxLength)));
+
+			long lastHarvestedSlowCommandId = this.lastSlowCommandId;
+
+			slowlogEntries.stream()
+				.map(this::toSlowCommand)
+				.flatMap(Optional::stream)
+				.filter(slowCommand -> slowCommand.id() > lastHarvestedSlowCommandId)
+				.forEach(slowCommand -> {
+					this.slowCommands.add(slowCommand);
+					this.lastSlowCommandId = Math.max(this.lastSlowCommandId, slowCommand.id());
+				});
+
+			executeForList(connection, "LATENCY", toBytes("LATEST")).stream()
+				.map(this::toLatencyEvent)
+				.flatMap(Optional::stream)
+				.forEach(latencyEvent -> this.latencyEvents.merge(latencyEvent.event(), latencyEvent,
+					(current, latest) -> latest.maximumLatency().compareTo(current.maximumLatency()) >= 0
+						? latest : current));
+
+			// LATENCY LATEST reports the maximum latency since the last reset
+			if (resetLatencyMonitor) {
+				executeForStatus(connection, "LATENCY", toBytes("RESET"));
+			}
+		}
+	}
+
+	private void harvestQuietly() {
+
+		try {
+			harvest();
+		}
+		catch (RuntimeException e) {
+			if (log.isWarnEnabled()) {
+				log.warn("Failed to harvest SLOWLOG and LATENCY from the Redis server", e);
+			}
+		}
+	}
+
+	/**
+	 * Harvests new entries and resets the {@literal LATENCY} monitor, then returns a {@link SlowCommandReport}
+	 * of all entries harvested since the last drain and forgets them.
+	 *
+	 * @return a {@link SlowCommandReport} of all entries harvested since the last drain.
+	 */
+	public synchronized SlowCommandReport drain() {
+
+		if (isRunning()) {
+			harvest(true);
+		}
+
+		SlowCommandReport report = new SlowCommandReport(List.copyOf(this.slowCommands),
+			List.copyOf(this.latencyEvents.values()));
+
+		this.slowCommands.clear();
+		this.latencyEvents.clear();
+
+		return report;
+	}
+
+	/**
+	 * {@link #drain() Drains} harvested entries and writes the {@link SlowCommandReport} to a file with the given name
+	 * in the report directory, if configured.
+	 *
+	 * @param name {@link String name} of the report (e.g. the name of a test class).
+	 * @return the {@link SlowCommandReport} of all entries harvested since the last drain.
+	 */
+	public SlowCommandReport writeReport(@NonNull String name) {
+
+		Assert.hasText(name, "Report name is required");
+
+		SlowCommandReport report = drain();
+
+		getReportDirectory().ifPresent(reportDirectory ->
+			report.writeTo(reportDirectory.resolve(name.concat(".txt"))));
+
+		return report;
+	}
+
+	private Optional<SlowCommand> toSlowCommand(Object slowlogEntry) {
+
+		if (slowlogEntry instanceof List<?> entry && entry.size() >= 4) {
+
+			long id = toLong(entry.get(0));
+			Instant timestamp = Instant.ofEpochSecond(toLong(entry.get(1)));
+			Duration duration = Duration.ofNanos(toLong(entry.get(2)) * 1_000L);
+
+			List<String> arguments = entry.get(3) instanceof List<?> list
+				? list.stream().map(RedisCommandSupport::toString).toList()
+				: List.of();
+
+			String client = entry.size() > 4 ? RedisCommandSupport.toString(entry.get(4)) : "unknown";
+
+			return Optional.of(new SlowCommand(id, timestamp, duration, arguments, client));
+		}
+
+		return Optional.empty();
+	}
+
+	private Optional<LatencyEvent> toLatencyEvent(Object latencyEntry) {
+
+		if (latencyEntry instanceof List<?> entry && entry.size() >= 4) {
+
+			String event = RedisCommandSupport.toString(entry.get(0));
+			Instant timestamp = Instant.ofEpochSecond(toLong(entry.get(1)));
+			Duration latestLatency = Duration.ofMillis(toLong(entry.get(2)));
+			Duration maximumLatency = Duration.ofMillis(toLong(entry.get(3)));
+
+			return Optional.of(new LatencyEvent(event, timestamp, latestLatency, maximumLatency));
+		}
+
+		return Optional.empty();
+	}
+
+	private long toLong(Object value) {
+		return value instanceof Number number ? number.longValue() : Long.parseLong(RedisCommandSupport.toString(value));
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.monitor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+/**
+ * Report of the slow commands and latency events harvested from a Redis server's {@literal SLOWLOG}
+ * and {@literal LATENCY} monitor by the {@link SlowCommandMonitor}.
+ *
+ * @author John Blum
+ * @param slowCommands {@link List} of {@link SlowCommand SlowCommands}, slowest first.
+ * @param latencyEvents {@link List} of {@link LatencyEvent LatencyEvents}, worst first.
+ * @see io.codeprimate.examples.redis.embedded.monitor.SlowCommandMonitor
+ * @since 0.1.0
+ */
+@SuppressWarnings("unused")
+public record SlowCommandReport(List<SlowCommand> slowCommands, List<LatencyEvent> latencyEvents) {
+
+	public static SlowCommandReport empty() {
+		return new SlowCommandReport(List.of(), List.of());
+	}
+
+	public SlowCommandReport {
+
+		slowCommands = slowCommands.stream()
+			.sorted(Comparator.comparing(SlowCommand::duration).reversed())
+			.toList();
+
+		latencyEvents = latencyEvents.stream()
+			.sorted(Comparator.comparing(LatencyEvent::maximumLatency).reversed())
+			.toList();
+	}
+
+	public boolean isEmpty() {
+		return slowCommands().isEmpty() && latencyEvents().isEmpty();
+	}
+
+	/**
+	 * Asserts that no command took longer than the given budget.
+	 *
+	 * @param budget maximum {@link Duration} any command may take.
+	 * @throws AssertionError if any command took longer than the given budget.
+	 */
+	public void assertWithinBudget(@NonNull Duration budget) {
+
+		List<SlowCommand> slowCommandsOverBudget = slowCommandsExceeding(budget);
+
+		if (!slowCommandsOverBudget.isEmpty()) {
+			throw new AssertionError("[%d] Redis command(s) exceeded the budget of [%d] ms:%n%s"
+				.formatted(slowCommandsOverBudget.size(), budget.toMillis(), summarize(slowCommandsOverBudget)));
+		}
+	}
+
+	public List<SlowCommand> slowCommandsExceeding(@NonNull Duration budget) {
+
+		Assert.notNull(budget, "Budget is required");
+
+		return slowCommands().stream()
+			.filter(slowCommand -> slowCommand.duration().compareTo(budget) > 0)
+			.toList();
+	}
+
+	public String getSummary() {
+
+		StringBuilder summary = new StringBuilder("Slow commands [%d]:%n".formatted(slowCommands().size()))
+			.append(summarize(slowCommands()));
+
+		summary.append("Latency events [%d]:%n".formatted(latencyEvents().size()));
+		latencyEvents().forEach(latencyEvent -> summary.append("  %s%n".formatted(latencyEvent)));
+
+		return summary.toString();
+	}
+
+	private String summarize(List<SlowCommand> slowCommands) {
+
+		StringBuilder summary = new StringBuilder();
+
+		slowCommands.forEach(slowCommand -> summary.append("  %s%n".formatted(slowCommand)));
+
+		return summary.toString();
+	}
+
+	public Path writeTo(@NonNull Path file) {
+
+		Assert.notNull(file, "File is required");
+
+		try {
+			if (file.getParent() != null) {
+				Files.createDirectories(file.getParent());
+			}
+			return Files.writeString(file, getSummary(), StandardCharsets.UTF_8);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to write slow command report to [%s]".formatted(file), e);
+		}
+	}
+
+	public record SlowCommand(long id, Instant timestamp, Duration duration, List<String> arguments, String client) {
+
+		public String command() {
+			return arguments().isEmpty() ? "" : arguments().get(0).toUpperCase();
+		}
+
+		@Override
+		public String toString() {
+			return "%s took [%.3f] ms at [%s] from client [%s]"
+				.formatted(String.join(" ", arguments()), duration().toNanos() / 1_000_000.0d, timestamp(), client());
+		}
+	}
+
+	public record LatencyEvent(String event, Instant timestamp, Duration latestLatency, Duration maximumLatency) {
+
+		@Override
+		public String toString() {
+			return "%s [latest: %d ms, maximum: %d ms, at: %s]"
+				.formatted(event(), latestLatency().toMillis(), maximumLatency().toMillis(), timestamp());
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.monitor;
+
+import io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerMonitorProperties;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.lang.NonNull;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * JUnit Jupiter {@link org.junit.jupiter.api.extension.Extension} writing a {@link SlowCommandReport} for each
+ * test class after all of its tests have run, and failing the test class when any Redis command exceeded
+ * the configured {@literal redis.server.monitor.budget}.
+ * <p/>
+ * Requires the {@link SlowCommandMonitor} to be enabled with {@literal redis.server.monitor.enabled=true};
+ * otherwise, this extension does nothing.
+ * <p/>
+ * JUnit Jupiter and Spring's TestContext framework are optional dependencies, which applications using this extension
+ * already have on their test classpath.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.monitor.SlowCommandMonitor
+ * @see org.junit.jupiter.api.extension.AfterAllCallback
+ * @see org.springframework.test.context.junit.jupiter.SpringExtension
+ * @since 0.1.0
+ */
+public class SlowCommandReportExtension implements AfterAllCallback {
+
+	@Override
+	public void afterAll(@NonNull ExtensionContext context) {
+
+		ApplicationContext applicationContext = getApplicationContext(context);
+
+		applicationContext.getBeanProvider(SlowCommandMonitor.class).ifAvailable(monitor -> {
+
+			SlowCommandReport report = monitor.writeReport(context.getRequiredTestClass().getName());
+
+			applicationContext.getBeanProvider(EmbeddedRedisServerMonitorProperties.class)
+				.ifAvailable(properties -> properties.optionalBudget().ifPresent(report::assertWithinBudget));
+		});
+	}
+
+	protected @NonNull ApplicationContext getApplicationContext(@NonNull ExtensionContext context) {
+		return SpringExtension.getApplicationContext(context);
+	}
+}
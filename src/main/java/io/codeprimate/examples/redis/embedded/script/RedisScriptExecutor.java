@@ -0,0 +1,208 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.script;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Typed executor of a Lua script registered with the {@link RedisScriptRegistry}.
+ * <p/>
+ * Scripts are run with {@literal EVALSHA}, falling back to {@literal EVAL}, which also loads the script,
+ * when the Redis server replies with {@literal NOSCRIPT}. In a pipeline or transaction, where replies are not
+ * available until it is closed, the script is instead loaded beforehand when missing from the script cache.
+ * Keys are serialized with the key serializer
+ * of the {@link RedisTemplate}, so that scripts see the same keys as the template operations, while arguments
+ * and results are plain {@link String Strings} (or {@link Long Longs}), as expected by Lua code.
+ *
+ * @author John Blum
+ * @param <T> {@link Class type} of the script result.
+ * @see io.codeprimate.examples.redis.embedded.script.RedisScriptRegistry
+ * @see org.springframework.data.redis.core.RedisTemplate
+ * @see org.springframework.data.redis.core.script.RedisScript
+ * @since 0.1.0
+ */
+@SuppressWarnings("unused")
+public class RedisScriptExecutor<T> {
+
+	private final AtomicBoolean loaded = new AtomicBoolean(false);
+
+	private final RedisScript<T> script;
+
+	private final RedisTemplate<String, ?> redisTemplate;
+
+	private final ReturnType returnType;
+
+	private final String name;
+
+	RedisScriptExecutor(@NonNull String name, @NonNull RedisScript<T> script,
+			@NonNull RedisTemplate<String, ?> redisTemplate) {
+
+		Assert.hasText(name, "Script name is required");
+		Assert.notNull(script, "RedisScript is required");
+		Assert.notNull(redisTemplate, "RedisTemplate is required");
+
+		this.name = name;
+		this.script = script;
+		this.redisTemplate = redisTemplate;
+		this.returnType = ReturnType.fromJavaType(script.getResultType());
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	public RedisScript<T> getScript() {
+		return this.script;
+	}
+
+	public String getSha1() {
+		return this.script.getSha1();
+	}
+
+	/**
+	 * Runs the script with {@literal EVALSHA}, falling back to {@literal EVAL} on {@literal NOSCRIPT}.
+	 *
+	 * @param keys {@link List} of keys passed to the script as {@literal KEYS}.
+	 * @param args array of arguments passed to the script as {@literal ARGV}.
+	 * @return the result of the script.
+	 */
+	public T execute(@NonNull List<String> keys, Object... args) {
+
+		Assert.notNull(keys, "Keys are required");
+
+		return this.redisTemplate.execute(this.script, RedisSerializer.string(), resultSerializer(), keys,
+			(Object[]) toStrings(args));
+	}
+
+	/**
+	 * Runs the script with {@literal EVALSHA} using the given {@link RedisConnection}, for instance, in a callback
+	 * passed to {@link RedisTemplate#executePipelined(org.springframework.data.redis.core.RedisCallback)}.
+	 * <p/>
+	 * Outside a pipeline or transaction, this falls back to {@literal EVAL} on {@literal NOSCRIPT}. Since replies are
+	 * not available until a pipeline or transaction is closed, the first pipelined or queued run instead checks
+	 * the script cache with {@literal SCRIPT EXISTS}, on a separate connection, and loads the script when missing.
+	 * Later pipelined or queued runs do not check again, so the script cache must not be flushed in the meantime.
+	 *
+	 * @param connection {@link RedisConnection} used to run the script.
+	 * @param keys {@link List} of keys passed to the script as {@literal KEYS}.
+	 * @param args array of arguments passed to the script as {@literal ARGV}.
+	 * @return the raw result of the script; {@literal null} when the connection is pipelined or queueing.
+	 */
+	@Nullable
+	public Object execute(@NonNull RedisConnection connection, @NonNull List<String> keys, Object... args) {
+
+		Assert.notNull(connection, "RedisConnection is required");
+		Assert.notNull(keys, "Keys are required");
+
+		RedisSerializer<String> keySerializer = keySerializer();
+
+		byte[][] keysAndArgs = Stream.concat(keys.stream().map(keySerializer::serialize),
+				Arrays.stream(toStrings(args)).map(RedisSerializer.string()::serialize))
+			.toArray(byte[][]::new);
+
+		if (connection.isPipelined() || connection.isQueueing()) {
+			loadIfMissing();
+			return connection.scriptingCommands().evalSha(getSha1(), this.returnType, keys.size(), keysAndArgs);
+		}
+
+		try {
+			return connection.scriptingCommands().evalSha(getSha1(), this.returnType, keys.size(), keysAndArgs);
+		}
+		catch (RuntimeException e) {
+
+			if (!isNoScriptError(e)) {
+				throw e;
+			}
+
+			// EVAL also loads the script into the script cache
+			return connection.scriptingCommands().eval(scriptBytes(), this.returnType, keys.size(), keysAndArgs);
+		}
+	}
+
+	private void loadIfMissing() {
+
+		if (!this.loaded.get()) {
+
+			RedisConnectionFactory connectionFactory = this.redisTemplate.getRequiredConnectionFactory();
+
+			try (RedisConnection connection = connectionFactory.getConnection()) {
+
+				List<Boolean> exists = connection.scriptingCommands().scriptExists(getSha1());
+
+				if (exists == null || exists.isEmpty() || !Boolean.TRUE.equals(exists.get(0))) {
+					connection.scriptingCommands().scriptLoad(scriptBytes());
+				}
+			}
+
+			this.loaded.set(true);
+		}
+	}
+
+	private boolean isNoScriptError(Throwable error) {
+
+		for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+			if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private byte[] scriptBytes() {
+		return this.script.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@SuppressWarnings("unchecked")
+	private RedisSerializer<String> keySerializer() {
+
+		return Optional.ofNullable((RedisSerializer<String>) this.redisTemplate.getKeySerializer())
+			.orElseGet(RedisSerializer::string);
+	}
+
+	// Results of type Long and Boolean are returned as is; String and List results are deserialized as Strings
+	@SuppressWarnings("unchecked")
+	private RedisSerializer<T> resultSerializer() {
+		return (RedisSerializer<T>) RedisSerializer.string();
+	}
+
+	private String[] toStrings(@Nullable Object[] args) {
+
+		return args != null
+			? Arrays.stream(args).map(String::valueOf).toArray(String[]::new)
+			: new String[0];
+	}
+
+	@Override
+	public String toString() {
+		return "%s[name = %s, sha1 = %s]".formatted(getClass().getSimpleName(), getName(), getSha1());
+	}
+}
@@ -0,0 +1,270 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.script;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerFactoryBean;
+import io.codeprimate.examples.redis.embedded.support.StartupTimeline;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of Lua scripts loaded into the Redis server's script cache with {@literal SCRIPT LOAD} as soon as
+ * the embedded Redis server has started.
+ * <p/>
+ * Scripts are discovered from {@link Resource resources} matching the configured locations and are named
+ * after the file name of the resource without its extension (e.g. {@literal rate-limiter} for
+ * {@literal classpath:redis/scripts/rate-limiter.lua}). Once loaded, scripts are run by SHA1 digest
+ * with {@literal EVALSHA} through a typed {@link RedisScriptExecutor}, so the script body is neither sent
+ * nor parsed by Redis on every call.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.script.RedisScriptExecutor
+ * @see org.springframework.context.SmartLifecycle
+ * @see org.springframework.data.redis.core.script.RedisScript
+ * @since 0.1.0
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class RedisScriptRegistry implements SmartLifecycle {
+
+	public static final String DEFAULT_SCRIPT_LOCATION = "classpath*:redis/scripts/*.lua";
+
+	/**
+	 * {@link SmartLifecycle} phase in which scripts are loaded, once the embedded Redis server and its connection
+	 * factory have started.
+	 */
+	public static final int SCRIPT_LOAD_PHASE = EmbeddedRedisServerFactoryBean.EMBEDDED_REDIS_CLIENT_PHASE;
+
+	private volatile boolean running;
+
+	private final ConcurrentMap<ExecutorKey, RedisScriptExecutor<?>> executors = new ConcurrentHashMap<>();
+
+	private final Map<String, String> scripts = Collections.synchronizedMap(new LinkedHashMap<>());
+
+	private final RedisTemplate<String, ?> redisTemplate;
+
+	private final StartupTimeline startupTimeline;
+
+	public RedisScriptRegistry(@NonNull RedisTemplate<String, ?> redisTemplate) {
+		this(redisTemplate, new StartupTimeline());
+	}
+
+	public RedisScriptRegistry(@NonNull RedisTemplate<String, ?> redisTemplate,
+			@NonNull StartupTimeline startupTimeline) {
+
+		Assert.notNull(redisTemplate, "RedisTemplate is required");
+		Assert.notNull(startupTimeline, "StartupTimeline is required");
+
+		this.redisTemplate = redisTemplate;
+		this.startupTimeline = startupTimeline;
+	}
+
+	/**
+	 * Registers all scripts found in {@link Resource resources} matching the given locations.
+	 *
+	 * @param resourcePatternResolver {@link ResourcePatternResolver} used to resolve the locations.
+	 * @param locations {@link List} of resource location patterns (e.g. {@link #DEFAULT_SCRIPT_LOCATION}).
+	 * @return this registry.
+	 * @throws UncheckedIOException if a location cannot be resolved or a script cannot be read.
+	 */
+	public RedisScriptRegistry registerAll(@NonNull ResourcePatternResolver resourcePatternResolver,
+			@NonNull List<String> locations) {
+
+		Assert.notNull(resourcePatternResolver, "ResourcePatternResolver is required");
+		Assert.notNull(locations, "Script locations are required");
+
+		for (String location : locations) {
+			try {
+				for (Resource resource : resourcePatternResolver.getResources(location)) {
+					if (resource.isReadable()) {
+						register(resource);
+					}
+				}
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException("Failed to resolve scripts from location [%s]".formatted(location), e);
+			}
+		}
+
+		return this;
+	}
+
+	/**
+	 * Registers the script contained in the given {@link Resource}, named after its file name without extension.
+	 *
+	 * @param resource {@link Resource} containing the Lua script.
+	 * @return this registry.
+	 * @throws UncheckedIOException if the script cannot be read.
+	 */
+	public RedisScriptRegistry register(@NonNull Resource resource) {
+
+		Assert.notNull(resource, "Resource is required");
+
+		String filename = resource.getFilename();
+
+		Assert.hasText(filename, () -> "Resource [%s] must have a file name".formatted(resource));
+
+		try {
+			return register(StringUtils.stripFilenameExtension(filename),
+				resource.getContentAsString(StandardCharsets.UTF_8));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to read script from resource [%s]".formatted(resource), e);
+		}
+	}
+
+	/**
+	 * Registers the given Lua script under the given name.
+	 * <p/>
+	 * Scripts registered after the registry has been started are loaded into the Redis server's script cache
+	 * when first run.
+	 *
+	 * @param name {@link String name} of the script.
+	 * @param script {@link String} containing the Lua script.
+	 * @return this registry.
+	 * @throws IllegalStateException if a different script has already been registered under the given name.
+	 */
+	public RedisScriptRegistry register(@NonNull String name, @NonNull String script) {
+
+		Assert.hasText(name, "Script name is required");
+		Assert.hasText(script, () -> "Script [%s] must not be empty".formatted(name));
+
+		String existingScript = this.scripts.putIfAbsent(name, script);
+
+		Assert.state(existingScript == null || existingScript.equals(script),
+			() -> "A different script has already been registered with name [%s]".formatted(name));
+
+		return this;
+	}
+
+	/**
+	 * Returns the {@link String names} of all registered scripts.
+	 *
+	 * @return the {@link String names} of all registered scripts.
+	 */
+	public Set<String> getScriptNames() {
+
+		synchronized (this.scripts) {
+			return Set.copyOf(this.scripts.keySet());
+		}
+	}
+
+	/**
+	 * Returns a {@link RedisScriptExecutor} running the script registered under the given name.
+	 * <p/>
+	 * Executors are cached per name and result type, so the SHA1 digest of a script is computed only once.
+	 *
+	 * @param <T> {@link Class type} of the script result.
+	 * @param name {@link String name} of the script.
+	 * @param resultType {@link Class type} of the script result; one of {@link Long}, {@link Boolean},
+	 * {@link String} or {@link List}.
+	 * @return a {@link RedisScriptExecutor} running the script registered under the given name.
+	 * @throws IllegalArgumentException if no script has been registered under the given name.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> RedisScriptExecutor<T> getExecutor(@NonNull String name, @NonNull Class<T> resultType) {
+
+		Assert.notNull(resultType, "Result type is required");
+
+		String script = getOptionalScript(name)
+			.orElseThrow(() -> new IllegalArgumentException("No script registered with name [%s]".formatted(name)));
+
+		return (RedisScriptExecutor<T>) this.executors.computeIfAbsent(new ExecutorKey(name, resultType), key ->
+			new RedisScriptExecutor<>(name, new DefaultRedisScript<>(script, resultType), this.redisTemplate));
+	}
+
+	private Optional<String> getOptionalScript(String name) {
+		return Optional.ofNullable(name).map(this.scripts::get);
+	}
+
+	@Override
+	public int getPhase() {
+		return SCRIPT_LOAD_PHASE;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.running;
+	}
+
+	@Override
+	public void start() {
+
+		Map<String, String> scriptsToLoad;
+
+		synchronized (this.scripts) {
+			scriptsToLoad = new LinkedHashMap<>(this.scripts);
+		}
+
+		if (!scriptsToLoad.isEmpty()) {
+
+			this.startupTimeline.record("scripts.load", () -> load(scriptsToLoad));
+
+			if (log.isInfoEnabled()) {
+				log.info("Loaded [{}] Lua script(s) {} into the Redis server script cache",
+					scriptsToLoad.size(), scriptsToLoad.keySet());
+			}
+		}
+
+		this.running = true;
+	}
+
+	private void load(Map<String, String> scriptsToLoad) {
+
+		RedisConnectionFactory connectionFactory = this.redisTemplate.getRequiredConnectionFactory();
+
+		try (RedisConnection connection = connectionFactory.getConnection()) {
+			scriptsToLoad.forEach((name, script) -> {
+
+				String sha1 = connection.scriptingCommands().scriptLoad(script.getBytes(StandardCharsets.UTF_8));
+
+				if (log.isDebugEnabled()) {
+					log.debug("Loaded Lua script [{}] with SHA1 [{}]", name, sha1);
+				}
+			});
+		}
+	}
+
+	@Override
+	public void stop() {
+		this.running = false;
+	}
+
+	private record ExecutorKey(String name, Class<?> resultType) { }
+}
@@ -0,0 +1,358 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.server;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import io.codeprimate.examples.redis.embedded.connection.EmbeddedRedisServerConnectionFactory;
+import io.codeprimate.examples.redis.embedded.support.StartupTimeline;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.embedded.RedisExecProvider;
+import redis.embedded.RedisServer;
+import redis.embedded.exceptions.EmbeddedRedisException;
+
+/**
+ * {@link RedisServer} managing the forked Redis server process itself, rather than relying on embedded-redis.
+ * <p/>
+ * The standard output and error streams of the process are continuously drained to the log by background threads
+ * for the lifetime of the process, so a chatty Redis server never blocks on a full pipe. The server is stopped
+ * with {@literal SHUTDOWN NOSAVE}, followed by a bounded wait, after which the process is forcibly killed.
+ * Stopping can be done {@link #stopAsync() asynchronously}, so that several servers stop in parallel.
+ * <p/>
+ * Forking the process and waiting, up to the startup timeout, until the server is ready to accept connections
+ * are recorded as separate {@literal server.fork} and {@literal server.ready} steps of the {@link StartupTimeline}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerFactoryBean
+ * @see io.codeprimate.examples.redis.embedded.support.StartupTimeline
+ * @see java.lang.Process
+ * @see redis.embedded.RedisServer
+ * @since 0.1.0
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class ManagedRedisServer extends RedisServer {
+
+	public static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(2);
+	public static final Duration DEFAULT_STARTUP_TIMEOUT = Duration.ofSeconds(30);
+
+	protected static final String REDIS_READY_PATTERN = ".*Ready to accept connections tcp.*";
+
+	private static final byte[] SHUTDOWN_NOSAVE_COMMAND = "*2\r\n$8\r\nSHUTDOWN\r\n$6\r\nNOSAVE\r\n"
+		.getBytes(StandardCharsets.US_ASCII);
+
+	private volatile boolean active;
+
+	private final CustomizableThreadFactory threadFactory;
+
+	private final Duration shutdownTimeout;
+	private final Duration startupTimeout;
+
+	private final Pattern readyPattern = Pattern.compile(redisReadyPattern());
+
+	private final StartupTimeline startupTimeline;
+
+	@Nullable
+	private volatile Process process;
+
+	public ManagedRedisServer(@NonNull RedisExecProvider redisExecProvider, int port) throws IOException {
+		this(redisExecProvider, port, DEFAULT_SHUTDOWN_TIMEOUT);
+	}
+
+	public ManagedRedisServer(@NonNull RedisExecProvider redisExecProvider, int port,
+			@NonNull Duration shutdownTimeout) throws IOException {
+
+		this(redisExecProvider, port, shutdownTimeout, new StartupTimeline());
+	}
+
+	public ManagedRedisServer(@NonNull RedisExecProvider redisExecProvider, int port,
+			@NonNull Duration shutdownTimeout, @NonNull StartupTimeline startupTimeline) throws IOException {
+
+		this(redisExecProvider, port, shutdownTimeout, DEFAULT_STARTUP_TIMEOUT, startupTimeline);
+	}
+
+	public ManagedRedisServer(@NonNull RedisExecProvider redisExecProvider, int port,
+			@NonNull Duration shutdownTimeout, @NonNull Duration startupTimeout,
+			@NonNull StartupTimeline startupTimeline) throws IOException {
+
+		super(redisExecProvider, port);
+
+		Assert.isTrue(shutdownTimeout != null && !shutdownTimeout.isNegative(),
+			() -> "Shutdown timeout [%s] must not be negative".formatted(shutdownTimeout));
+		Assert.isTrue(startupTimeout != null && !startupTimeout.isNegative() && !startupTimeout.isZero(),
+			() -> "Startup timeout [%s] must be greater than 0".formatted(startupTimeout));
+		Assert.notNull(startupTimeline, "StartupTimeline is required");
+
+		this.shutdownTimeout = shutdownTimeout;
+		this.startupTimeout = startupTimeout;
+		this.startupTimeline = startupTimeline;
+		this.threadFactory = new CustomizableThreadFactory();
+		this.threadFactory.setDaemon(true);
+	}
+
+	public int getPort() {
+		return ports().get(0);
+	}
+
+	public Duration getShutdownTimeout() {
+		return this.shutdownTimeout;
+	}
+
+	public Duration getStartupTimeout() {
+		return this.startupTimeout;
+	}
+
+	/**
+	 * Returns the {@link ProcessHandle} of the running Redis server process.
+	 *
+	 * @return the {@link ProcessHandle} of the Redis server process; {@link Optional#empty()} if not running.
+	 */
+	public Optional<ProcessHandle> getProcessHandle() {
+		return Optional.ofNullable(this.process).map(Process::toHandle);
+	}
+
+	protected StartupTimeline getStartupTimeline() {
+		return this.startupTimeline;
+	}
+
+	@Override
+	protected String redisReadyPattern() {
+		return REDIS_READY_PATTERN;
+	}
+
+	@Override
+	public boolean isActive() {
+		return this.active;
+	}
+
+	@Override
+	public synchronized void start() throws EmbeddedRedisException {
+
+		if (this.active) {
+			throw new EmbeddedRedisException("Redis server on port [%d] is already running".formatted(getPort()));
+		}
+
+		Process process = this.startupTimeline.record("server.fork", this::fork);
+		CompletableFuture<Void> ready = new CompletableFuture<>();
+
+		drain(process.getInputStream(), "stdout", line -> {
+			if (log.isDebugEnabled()) {
+				log.debug("[redis-server:{}] {}", getPort(), line);
+			}
+			if (!ready.isDone() && this.readyPattern.matcher(line).matches()) {
+				ready.complete(null);
+			}
+		}, () -> ready.completeExceptionally(new EmbeddedRedisException(
+			"Redis server on port [%d] exited before it was ready to accept connections".formatted(getPort()))));
+
+		drain(process.getErrorStream(), "stderr", line -> {
+			if (log.isWarnEnabled()) {
+				log.warn("[redis-server:{}] {}", getPort(), line);
+			}
+		}, () -> { });
+
+		this.startupTimeline.record("server.ready", () -> awaitReady(process, ready));
+
+		this.process = process;
+		this.active = true;
+	}
+
+	private Process fork() {
+
+		File executable = new File(this.args.get(0));
+
+		try {
+			return new ProcessBuilder(this.args)
+				.directory(executable.getParentFile())
+				.start();
+		}
+		catch (IOException e) {
+			throw new EmbeddedRedisException("Failed to fork Redis server on port [%d]".formatted(getPort()), e);
+		}
+	}
+
+	private void drain(InputStream stream, String streamName, Consumer<String> lineHandler, Runnable endHandler) {
+
+		Thread drainer = this.threadFactory.newThread(() -> {
+
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+				for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+					lineHandler.accept(line);
+				}
+			}
+			catch (IOException ignore) {
+				// The stream was closed when the process was destroyed
+			}
+			finally {
+				endHandler.run();
+			}
+		});
+
+		drainer.setName(threadName(streamName));
+		drainer.start();
+	}
+
+	private void awaitReady(Process process, CompletableFuture<Void> ready) {
+
+		try {
+			ready.get(this.startupTimeout.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (ExecutionException e) {
+			process.destroyForcibly();
+			throw (EmbeddedRedisException) e.getCause();
+		}
+		catch (TimeoutException e) {
+			process.destroyForcibly();
+			throw new EmbeddedRedisException("Redis server on port [%d] was not ready within [%d] ms"
+				.formatted(getPort(), this.startupTimeout.toMillis()), e);
+		}
+		catch (InterruptedException e) {
+			process.destroyForcibly();
+			Thread.currentThread().interrupt();
+			throw new EmbeddedRedisException("Interrupted while starting Redis server on port [%d]"
+				.formatted(getPort()), e);
+		}
+	}
+
+	private String threadName(String suffix) {
+		return "redis-server-%d-%s".formatted(getPort(), suffix);
+	}
+
+	@Override
+	public void stop() throws EmbeddedRedisException {
+		stopAsync().join();
+	}
+
+	/**
+	 * Stops the Redis server on a background thread.
+	 *
+	 * @return a {@link CompletableFuture} completed once the Redis server process has exited.
+	 */
+	public CompletableFuture<Void> stopAsync() {
+
+		Process process;
+
+		synchronized (this) {
+
+			process = this.process;
+
+			if (!this.active || process == null) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			this.active = false;
+			this.process = null;
+		}
+
+		return CompletableFuture.runAsync(() -> shutdown(process), runnable -> {
+			Thread stopper = this.threadFactory.newThread(runnable);
+			stopper.setName(threadName("shutdown"));
+			stopper.start();
+		});
+	}
+
+	private void shutdown(Process process) {
+
+		long startTime = System.nanoTime();
+
+		boolean shutdownSent = sendShutdownNoSave();
+
+		if (!shutdownSent) {
+			process.destroy();
+		}
+
+		if (!waitFor(process, this.shutdownTimeout)) {
+
+			if (log.isWarnEnabled()) {
+				log.warn("Redis server on port [{}] did not exit within [{}] ms; killing process [{}]",
+					getPort(), this.shutdownTimeout.toMillis(), process.pid());
+			}
+
+			process.destroyForcibly();
+			waitFor(process, this.shutdownTimeout);
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Stopped Redis server on port [{}] in [{}] ms", getPort(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+		}
+	}
+
+	// Uses a plain socket rather than a Redis client, since the Redis clients have already been closed
+	// by the time the server is stopped, and the server closes the connection without replying
+	private boolean sendShutdownNoSave() {
+
+		int timeout = (int) Math.max(this.shutdownTimeout.toMillis(), 1L);
+
+		try (Socket socket = new Socket()) {
+
+			socket.connect(new InetSocketAddress(EmbeddedRedisServerConnectionFactory.EMBEDDED_REDIS_HOST,
+				getPort()), timeout);
+			socket.setSoTimeout(timeout);
+
+			OutputStream outputStream = socket.getOutputStream();
+
+			outputStream.write(SHUTDOWN_NOSAVE_COMMAND);
+			outputStream.flush();
+
+			// Wait for the server to close the connection
+			socket.getInputStream().read();
+
+			return true;
+		}
+		catch (IOException e) {
+
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to send SHUTDOWN NOSAVE to Redis server on port [{}]", getPort(), e);
+			}
+
+			return false;
+		}
+	}
+
+	private boolean waitFor(Process process, Duration timeout) {
+
+		try {
+			return process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return !process.isAlive();
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+/**
+ * Consistent hash ring mapping keys onto a fixed set of named nodes.
+ * <p/>
+ * Each node is placed on the ring at a number of virtual node positions to even out the distribution of keys.
+ * Adding or removing a node only remaps the keys adjacent to that node's positions.
+ *
+ * @author John Blum
+ * @param <T> {@link Class type} of the nodes.
+ * @since 0.1.0
+ */
+@SuppressWarnings("unused")
+public class ConsistentHashRing<T> {
+
+	public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+	private static final long FNV_64_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_64_PRIME = 0x100000001b3L;
+
+	/**
+	 * Computes a 64-bit FNV-1a hash of the given bytes, finalized with the MurmurHash3 {@literal fmix64} function
+	 * to spread similar inputs (e.g. {@literal key:1}, {@literal key:2}) across the ring.
+	 *
+	 * @param bytes array of bytes to hash.
+	 * @return the 64-bit hash of the given bytes.
+	 */
+	public static long hash(@NonNull byte[] bytes) {
+
+		long hash = FNV_64_OFFSET_BASIS;
+
+		for (byte value : bytes) {
+			hash ^= value & 0xff;
+			hash *= FNV_64_PRIME;
+		}
+
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+
+		return hash;
+	}
+
+	private final Map<String, T> nodes;
+
+	private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+	public ConsistentHashRing(@NonNull Map<String, T> nodes) {
+		this(nodes, DEFAULT_VIRTUAL_NODES);
+	}
+
+	public ConsistentHashRing(@NonNull Map<String, T> nodes, int virtualNodes) {
+
+		Assert.notEmpty(nodes, "Nodes are required");
+		Assert.isTrue(virtualNodes > 0, () -> "Virtual nodes [%d] must be greater than 0".formatted(virtualNodes));
+
+		this.nodes = Collections.unmodifiableMap(new TreeMap<>(nodes));
+
+		this.nodes.keySet().forEach(name -> {
+			for (int index = 0; index < virtualNodes; index++) {
+				this.ring.putIfAbsent(hash("%s#%d".formatted(name, index).getBytes(StandardCharsets.UTF_8)), name);
+			}
+		});
+	}
+
+	public Map<String, T> getNodes() {
+		return this.nodes;
+	}
+
+	public T getNode(@NonNull byte[] key) {
+		return this.nodes.get(getNodeName(key));
+	}
+
+	public String getNodeName(@NonNull byte[] key) {
+
+		Assert.notNull(key, "Key is required");
+
+		Map.Entry<Long, String> entry = this.ring.ceilingEntry(hash(key));
+
+		return (entry != null ? entry : this.ring.firstEntry()).getValue();
+	}
+}
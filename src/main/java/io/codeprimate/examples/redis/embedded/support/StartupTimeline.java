@@ -0,0 +1,137 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.support;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Timeline recording the duration of each phase of starting a server.
+ * <p/>
+ * Each phase is recorded as a Spring {@link StartupStep} with the given {@link ApplicationStartup}, which emits
+ * Java Flight Recorder (JFR) events when the application uses a
+ * {@link org.springframework.core.metrics.jfr.FlightRecorderApplicationStartup}. Durations are also kept
+ * by this timeline, regardless of the {@link ApplicationStartup} in use, and a summary is logged
+ * once the application context has been refreshed.
+ *
+ * @author John Blum
+ * @see org.springframework.core.metrics.ApplicationStartup
+ * @see org.springframework.core.metrics.StartupStep
+ * @since 0.1.0
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class StartupTimeline implements ApplicationListener<ContextRefreshedEvent> {
+
+	public static final String DEFAULT_STEP_NAME_PREFIX = "embedded-redis.";
+
+	private final AtomicBoolean summaryLogged = new AtomicBoolean(false);
+
+	private final ApplicationStartup applicationStartup;
+
+	private final Map<String, Duration> steps = Collections.synchronizedMap(new LinkedHashMap<>());
+
+	private final String stepNamePrefix;
+
+	public StartupTimeline() {
+		this(ApplicationStartup.DEFAULT);
+	}
+
+	public StartupTimeline(@NonNull ApplicationStartup applicationStartup) {
+		this(applicationStartup, DEFAULT_STEP_NAME_PREFIX);
+	}
+
+	public StartupTimeline(@NonNull ApplicationStartup applicationStartup, @NonNull String stepNamePrefix) {
+		Assert.notNull(applicationStartup, "ApplicationStartup is required");
+		Assert.notNull(stepNamePrefix, "Step name prefix is required");
+		this.applicationStartup = applicationStartup;
+		this.stepNamePrefix = stepNamePrefix;
+	}
+
+	public Map<String, Duration> getSteps() {
+
+		synchronized (this.steps) {
+			return Collections.unmodifiableMap(new LinkedHashMap<>(this.steps));
+		}
+	}
+
+	public Duration getTotalDuration() {
+		return getSteps().values().stream().reduce(Duration.ZERO, Duration::plus);
+	}
+
+	public String getSummary() {
+
+		StringBuilder summary = new StringBuilder("Embedded Redis startup took [%d] ms"
+			.formatted(getTotalDuration().toMillis()));
+
+		getSteps().forEach((name, duration) ->
+			summary.append("%n  %s: %d ms".formatted(name, duration.toMillis())));
+
+		return summary.toString();
+	}
+
+	public void record(@NonNull String name, @NonNull Runnable runnable) {
+
+		record(name, () -> {
+			runnable.run();
+			return null;
+		});
+	}
+
+	public <T> T record(@NonNull String name, @NonNull Supplier<T> supplier) {
+
+		StartupStep step = this.applicationStartup.start(this.stepNamePrefix.concat(name));
+		long startTime = System.nanoTime();
+
+		try {
+			return supplier.get();
+		}
+		finally {
+
+			Duration duration = Duration.ofNanos(System.nanoTime() - startTime);
+
+			this.steps.merge(name, duration, Duration::plus);
+
+			step.tag("duration", duration.toString());
+			step.end();
+
+			if (log.isDebugEnabled()) {
+				log.debug("Startup step [{}] took [{}] ms", name, duration.toMillis());
+			}
+		}
+	}
+
+	@Override
+	public void onApplicationEvent(@NonNull ContextRefreshedEvent event) {
+
+		if (this.summaryLogged.compareAndSet(false, true) && log.isInfoEnabled()) {
+			log.info(getSummary());
+		}
+	}
+}
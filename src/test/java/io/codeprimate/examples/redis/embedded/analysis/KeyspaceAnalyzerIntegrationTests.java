@@ -0,0 +1,174 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import io.codeprimate.examples.redis.embedded.analysis.KeyspaceReport.EncodingInefficiency;
+import io.codeprimate.examples.redis.embedded.analysis.KeyspaceReport.KeyStatistics;
+import io.codeprimate.examples.redis.embedded.analysis.KeyspaceReport.PatternStatistics;
+import io.codeprimate.examples.redis.embedded.config.EnableEmbeddedRedisServer;
+import io.codeprimate.examples.redis.embedded.connection.EmbeddedRedisServerConnectionFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.RedisConnection;
+
+/**
+ * Integration Tests for {@link KeyspaceAnalyzer} and {@link KeyspaceReport} against the embedded Redis server,
+ * covering {@literal SCAN} sampling, {@literal MEMORY USAGE} aggregation by key pattern and {@literal OBJECT FREQ}
+ * based hot key detection.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.analysis.KeyspaceAnalyzer
+ * @see io.codeprimate.examples.redis.embedded.analysis.KeyspaceReport
+ * @see org.springframework.boot.test.context.SpringBootTest
+ * @since 0.1.0
+ */
+@SpringBootTest(classes = KeyspaceAnalyzerIntegrationTests.KeyspaceAnalyzerTestConfiguration.class)
+@SuppressWarnings("unused")
+class KeyspaceAnalyzerIntegrationTests {
+
+	private static final int CUSTOMER_COUNT = 20;
+	private static final int ORDER_COUNT = 3;
+
+	private static final String LARGE_VALUE = "x".repeat(16 * 1024);
+
+	@Autowired
+	private EmbeddedRedisServerConnectionFactory connectionFactory;
+
+	@BeforeEach
+	void populateKeyspace() {
+
+		try (RedisConnection connection = this.connectionFactory.getConnection()) {
+
+			connection.serverCommands().flushDb();
+
+			for (int id = 1; id <= CUSTOMER_COUNT; id++) {
+				connection.stringCommands().set(bytes("customer:%d".formatted(id)), bytes("Customer %d".formatted(id)));
+			}
+
+			for (int id = 1; id <= ORDER_COUNT; id++) {
+				connection.stringCommands().set(bytes("order:%d".formatted(id)), bytes(LARGE_VALUE + id));
+			}
+
+			// A single field value larger than hash-max-listpack-value converts the small hash to a hashtable
+			connection.hashCommands().hMSet(bytes("session:1"), Map.of(
+				bytes("user"), bytes("jon"),
+				bytes("role"), bytes("admin"),
+				bytes("token"), bytes("t".repeat(256))));
+		}
+	}
+
+	@Test
+	void analyzeScansAllKeysAndAggregatesMemoryByPattern() {
+
+		KeyspaceReport report = KeyspaceAnalyzer.from(this.connectionFactory)
+			.usingScanCount(5)
+			.usingTopKeys(ORDER_COUNT)
+			.build()
+			.analyze();
+
+		assertThat(report.scannedKeys()).isEqualTo(CUSTOMER_COUNT + ORDER_COUNT + 1);
+		assertThat(report.memoryByPattern()).containsOnlyKeys("customer:*", "order:*", "session:*");
+		assertThat(report.memoryByPattern().keySet()).first().isEqualTo("order:*");
+
+		PatternStatistics customers = report.memoryByPattern().get("customer:*");
+		PatternStatistics orders = report.memoryByPattern().get("order:*");
+
+		assertThat(customers.keys()).isEqualTo(CUSTOMER_COUNT);
+		assertThat(customers.averageMemoryUsage()).isPositive();
+		assertThat(orders.keys()).isEqualTo(ORDER_COUNT);
+		assertThat(orders.averageMemoryUsage()).isGreaterThan(LARGE_VALUE.length());
+
+		assertThat(report.totalMemoryUsage()).isEqualTo(report.memoryByPattern().values().stream()
+			.mapToLong(PatternStatistics::memoryUsage)
+			.sum());
+
+		assertThat(report.largestKeys()).hasSize(ORDER_COUNT);
+		assertThat(report.largestKeys()).extracting(KeyStatistics::key)
+			.containsExactlyInAnyOrder("order:1", "order:2", "order:3");
+		assertThat(report.largestKeys()).extracting(KeyStatistics::memoryUsage)
+			.isSortedAccordingTo((one, two) -> Long.compare(two, one));
+	}
+
+	@Test
+	void analyzeReportsSmallKeysStoredWithNonCompactEncoding() {
+
+		KeyspaceReport report = KeyspaceAnalyzer.from(this.connectionFactory).build().analyze();
+
+		assertThat(report.encodingInefficiencies()).hasSize(1);
+
+		EncodingInefficiency inefficiency = report.encodingInefficiencies().get(0);
+
+		assertThat(inefficiency.key()).isEqualTo("session:1");
+		assertThat(inefficiency.type()).isEqualTo(DataType.HASH);
+		assertThat(inefficiency.encoding()).isEqualTo("hashtable");
+		assertThat(inefficiency.size()).isEqualTo(3L);
+		assertThat(inefficiency.size()).isLessThanOrEqualTo(inefficiency.sizeLimit());
+	}
+
+	@Test
+	void analyzeReportsHottestKeysOnlyWithLfuMaxmemoryPolicy() {
+
+		KeyspaceReport report = KeyspaceAnalyzer.from(this.connectionFactory).build().analyze();
+
+		assertThat(report.hottestKeys()).isEmpty();
+
+		try (RedisConnection connection = this.connectionFactory.getConnection()) {
+
+			String maxmemoryPolicy = connection.serverCommands().getConfig("maxmemory-policy")
+				.getProperty("maxmemory-policy");
+
+			connection.serverCommands().setConfig("maxmemory-policy", "allkeys-lfu");
+
+			try {
+				// Rewrite the keys so their access counters are initialized for LFU
+				populateKeyspace();
+
+				for (int count = 0; count < 1000; count++) {
+					connection.stringCommands().get(bytes("customer:7"));
+				}
+
+				report = KeyspaceAnalyzer.from(this.connectionFactory).usingTopKeys(1).build().analyze();
+			}
+			finally {
+				connection.serverCommands().setConfig("maxmemory-policy", maxmemoryPolicy);
+			}
+		}
+
+		assertThat(report.hottestKeys()).hasSize(1);
+		assertThat(report.hottestKeys().get(0).key()).isEqualTo("customer:7");
+		assertThat(report.hottestKeys().get(0).frequency()).isPositive();
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@EnableEmbeddedRedisServer
+	@EnableConfigurationProperties(RedisProperties.class)
+	static class KeyspaceAnalyzerTestConfiguration { }
+}
@@ -0,0 +1,142 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * Unit Tests for {@link LocalCache}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.cache.LocalCache
+ * @since 0.1.0
+ */
+class LocalCacheUnitTests {
+
+	@Test
+	void constructWithInvalidMaximumSizeThrowsIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new LocalCache(0, Duration.ZERO));
+	}
+
+	@Test
+	void getCachesNullValuesAndCountsHitsAndMisses() {
+
+		LocalCache localCache = new LocalCache(10, Duration.ofMinutes(5));
+
+		assertThat(localCache.get("key")).isNull();
+
+		localCache.put("key", new SimpleValueWrapper(null));
+
+		assertThat(localCache.get("key")).isNotNull();
+		assertThat(localCache.get("key").get()).isNull();
+		assertThat(localCache.getHitCount()).isEqualTo(2L);
+		assertThat(localCache.getMissCount()).isEqualTo(1L);
+	}
+
+	@Test
+	void putEvictsLeastRecentlyUsedEntryWhenFull() {
+
+		LocalCache localCache = new LocalCache(2, Duration.ZERO);
+
+		localCache.put("one", new SimpleValueWrapper(1));
+		localCache.put("two", new SimpleValueWrapper(2));
+
+		assertThat(localCache.get("one")).isNotNull();
+
+		localCache.put("three", new SimpleValueWrapper(3));
+
+		assertThat(localCache.size()).isEqualTo(2);
+		assertThat(localCache.getEvictionCount()).isEqualTo(1L);
+		assertThat(localCache.get("two")).isNull();
+		assertThat(localCache.get("one")).isNotNull();
+		assertThat(localCache.get("three")).isNotNull();
+	}
+
+	@Test
+	void getExpiresEntriesAfterTimeToLive() {
+
+		AtomicLong ticker = new AtomicLong(System.nanoTime());
+		Duration timeToLive = Duration.ofMillis(1);
+
+		LocalCache localCache = new LocalCache(10, timeToLive, ticker::get);
+
+		localCache.put("key", new SimpleValueWrapper("value"));
+
+		ticker.addAndGet(timeToLive.toNanos() - 1L);
+
+		assertThat(localCache.get("key")).isNotNull();
+
+		ticker.incrementAndGet();
+
+		assertThat(localCache.get("key")).isNull();
+		assertThat(localCache.size()).isZero();
+	}
+
+	@Test
+	void evictAndClearRemoveEntries() {
+
+		LocalCache localCache = new LocalCache(10, Duration.ZERO);
+
+		localCache.put("one", new SimpleValueWrapper(1));
+		localCache.put("two", new SimpleValueWrapper(2));
+
+		assertThat(localCache.evict("one")).isTrue();
+		assertThat(localCache.evict("one")).isFalse();
+		assertThat(localCache.size()).isEqualTo(1);
+
+		localCache.clear();
+
+		assertThat(localCache.size()).isZero();
+	}
+
+	@Test
+	void putIfVersionDiscardsValuesOvertakenByWritesAndInvalidations() {
+
+		LocalCache localCache = new LocalCache(10, Duration.ZERO);
+
+		long version = localCache.version("key");
+
+		assertThat(localCache.putIfVersion("key", new SimpleValueWrapper("loaded"), version)).isTrue();
+		assertThat(localCache.get("key").get()).isEqualTo("loaded");
+
+		version = localCache.version("key");
+		localCache.evict("key");
+
+		assertThat(localCache.putIfVersion("key", new SimpleValueWrapper("stale"), version)).isFalse();
+		assertThat(localCache.get("key")).isNull();
+
+		version = localCache.version("key");
+		localCache.put("key", new SimpleValueWrapper("written"));
+
+		assertThat(localCache.putIfVersion("key", new SimpleValueWrapper("stale"), version)).isFalse();
+		assertThat(localCache.get("key").get()).isEqualTo("written");
+
+		version = localCache.version("key");
+		localCache.clear();
+
+		assertThat(localCache.putIfVersion("key", new SimpleValueWrapper("stale"), version)).isFalse();
+		assertThat(localCache.size()).isZero();
+		assertThat(localCache.getDiscardCount()).isEqualTo(3L);
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.codeprimate.examples.redis.embedded.config.EnableEmbeddedRedisServer;
+import io.codeprimate.examples.redis.embedded.connection.EmbeddedRedisServerConnectionFactory;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Integration Tests for {@link TwoLevelCacheManager} using 2 instances, sharing the embedded Redis server,
+ * to verify L1 invalidation across instances.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.cache.TwoLevelCacheManager
+ * @see org.springframework.boot.test.context.SpringBootTest
+ * @since 0.1.0
+ */
+@SpringBootTest(classes = TwoLevelCacheManagerIntegrationTests.TwoLevelCacheManagerTestConfiguration.class)
+@SuppressWarnings("unused")
+class TwoLevelCacheManagerIntegrationTests {
+
+	private static final String CACHE_NAME = "customers";
+	private static final String INVALIDATION_CHANNEL = "test:cache:invalidations";
+
+	@Autowired
+	private TwoLevelCacheManager cacheManagerOne;
+
+	@Autowired
+	private TwoLevelCacheManager cacheManagerTwo;
+
+	@Test
+	void putAndEvictOnOneInstanceInvalidateLocalEntryOnTheOther() {
+
+		Cache cacheOne = this.cacheManagerOne.getCache(CACHE_NAME);
+		Cache cacheTwo = this.cacheManagerTwo.getCache(CACHE_NAME);
+
+		assertThat(cacheOne).isInstanceOf(TwoLevelCache.class);
+		assertThat(cacheTwo).isInstanceOf(TwoLevelCache.class);
+
+		cacheOne.put("jon", "Jon Doe");
+		awaitInvalidationsReceived(1L);
+
+		assertThat(cacheTwo.get("jon", String.class)).isEqualTo("Jon Doe");
+		assertThat(statisticsTwo().localSize()).isEqualTo(1);
+
+		cacheOne.put("jon", "Jane Doe");
+		awaitInvalidationsReceived(2L);
+
+		assertThat(statisticsTwo().localSize()).isZero();
+		assertThat(cacheTwo.get("jon", String.class)).isEqualTo("Jane Doe");
+		assertThat(statisticsTwo().localSize()).isEqualTo(1);
+
+		cacheOne.evict("jon");
+		awaitInvalidationsReceived(3L);
+
+		assertThat(statisticsTwo().localSize()).isZero();
+		assertThat(cacheTwo.get("jon")).isNull();
+
+		TwoLevelCacheStatistics statisticsOne = this.cacheManagerOne.getStatistics().get(CACHE_NAME);
+
+		assertThat(statisticsOne.invalidationsPublished()).isEqualTo(3L);
+		assertThat(statisticsOne.invalidationsReceived()).isZero();
+		assertThat(statisticsTwo().invalidationsPublished()).isZero();
+		assertThat(statisticsTwo().invalidationsReceived()).isEqualTo(3L);
+	}
+
+	private void awaitInvalidationsReceived(long count) {
+
+		await().atMost(Duration.ofSeconds(5))
+			.untilAsserted(() -> assertThat(statisticsTwo().invalidationsReceived()).isEqualTo(count));
+	}
+
+	private TwoLevelCacheStatistics statisticsTwo() {
+		return this.cacheManagerTwo.getStatistics().get(CACHE_NAME);
+	}
+
+	@EnableEmbeddedRedisServer
+	@EnableConfigurationProperties(RedisProperties.class)
+	static class TwoLevelCacheManagerTestConfiguration {
+
+		@Bean
+		TwoLevelCacheManager cacheManagerOne(EmbeddedRedisServerConnectionFactory connectionFactory) {
+			return newTwoLevelCacheManager(connectionFactory);
+		}
+
+		@Bean
+		TwoLevelCacheManager cacheManagerTwo(EmbeddedRedisServerConnectionFactory connectionFactory) {
+			return newTwoLevelCacheManager(connectionFactory);
+		}
+
+		private TwoLevelCacheManager newTwoLevelCacheManager(EmbeddedRedisServerConnectionFactory connectionFactory) {
+			return new TwoLevelCacheManager(connectionFactory, INVALIDATION_CHANNEL, 100, Duration.ofMinutes(1),
+				Duration.ofMinutes(5), Map.of(CACHE_NAME, Duration.ofMinutes(5)));
+		}
+
+		@Bean
+		RedisMessageListenerContainer cacheInvalidationListenerContainer(
+				EmbeddedRedisServerConnectionFactory connectionFactory, TwoLevelCacheManager cacheManagerOne,
+				TwoLevelCacheManager cacheManagerTwo) {
+
+			ChannelTopic invalidationChannel = new ChannelTopic(INVALIDATION_CHANNEL);
+			RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+
+			listenerContainer.setConnectionFactory(connectionFactory);
+			listenerContainer.addMessageListener(cacheManagerOne, invalidationChannel);
+			listenerContainer.addMessageListener(cacheManagerTwo, invalidationChannel);
+
+			return listenerContainer;
+		}
+	}
+}
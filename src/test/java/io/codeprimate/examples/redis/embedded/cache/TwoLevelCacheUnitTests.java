@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.lang.NonNull;
+
+/**
+ * Unit Tests for {@link TwoLevelCache}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.cache.TwoLevelCache
+ * @since 0.1.0
+ */
+class TwoLevelCacheUnitTests {
+
+	@Test
+	void getDoesNotCacheValueInvalidatedWhileReadingFromRedis() {
+
+		AtomicReference<Runnable> onRedisRead = new AtomicReference<>(() -> { });
+
+		ConcurrentMapCache redisCache = new ConcurrentMapCache("customers") {
+
+			@Override
+			public ValueWrapper get(@NonNull Object key) {
+				ValueWrapper value = super.get(key);
+				onRedisRead.get().run();
+				return value;
+			}
+		};
+
+		List<CacheInvalidation> published = new ArrayList<>();
+
+		TwoLevelCache cache = new TwoLevelCache("origin", redisCache, new LocalCache(10, null),
+			new DefaultConversionService(), published::add);
+
+		redisCache.put("jon", "Jon Doe");
+
+		// Another instance writes a new value and its invalidation arrives while the old value is being read
+		onRedisRead.set(() -> {
+			redisCache.put("jon", "Jane Doe");
+			cache.onInvalidation(CacheInvalidation.evict("other", "customers", "jon"));
+		});
+
+		assertThat(cache.get("jon", String.class)).isEqualTo("Jon Doe");
+		assertThat(cache.getLocalCache().size()).isZero();
+
+		onRedisRead.set(() -> { });
+
+		assertThat(cache.get("jon", String.class)).isEqualTo("Jane Doe");
+		assertThat(cache.get("jon", String.class)).isEqualTo("Jane Doe");
+
+		TwoLevelCacheStatistics statistics = cache.getStatistics();
+
+		assertThat(statistics.localDiscards()).isEqualTo(1L);
+		assertThat(statistics.localHits()).isEqualTo(1L);
+		assertThat(statistics.localMisses()).isEqualTo(2L);
+		assertThat(statistics.invalidationsReceived()).isEqualTo(1L);
+		assertThat(published).isEmpty();
+	}
+}
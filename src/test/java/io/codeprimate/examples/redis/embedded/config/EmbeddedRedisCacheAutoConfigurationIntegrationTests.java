@@ -0,0 +1,139 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.codeprimate.examples.redis.embedded.cache.TwoLevelCacheManager;
+import io.codeprimate.examples.redis.embedded.connection.EmbeddedRedisServerConnectionFactory;
+import io.codeprimate.examples.redis.embedded.connection.RedisCommandSupport;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Integration Tests for {@link EmbeddedRedisCacheAutoConfiguration}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisCacheAutoConfiguration
+ * @see org.springframework.boot.test.context.runner.ApplicationContextRunner
+ * @since 0.1.0
+ */
+class EmbeddedRedisCacheAutoConfigurationIntegrationTests {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withInitializer(new ConfigDataApplicationContextInitializer())
+		.withConfiguration(AutoConfigurations.of(EmbeddedRedisServerAutoConfiguration.class,
+			EmbeddedRedisCacheAutoConfiguration.class));
+
+	@Test
+	void createsTwoLevelCacheManagerWhenCachingIsEnabled() {
+
+		this.contextRunner.withUserConfiguration(CachingConfiguration.class).run(context -> {
+
+			assertThat(context).hasSingleBean(CacheManager.class);
+			assertThat(context).hasSingleBean(TwoLevelCacheManager.class);
+			assertThat(context).hasSingleBean(RedisMessageListenerContainer.class);
+		});
+	}
+
+	@Test
+	void backsOffWhenCachingIsNotEnabled() {
+
+		this.contextRunner.withUserConfiguration(RedisPropertiesConfiguration.class).run(context -> {
+
+			assertThat(context).hasSingleBean(EmbeddedRedisServerConnectionFactory.class);
+			assertThat(context).doesNotHaveBean(CacheManager.class);
+			assertThat(context).doesNotHaveBean(RedisMessageListenerContainer.class);
+		});
+	}
+
+	@Test
+	void backsOffWhenUserDefinesCacheManager() {
+
+		this.contextRunner.withUserConfiguration(CustomCacheManagerConfiguration.class).run(context -> {
+
+			assertThat(context).hasSingleBean(CacheManager.class);
+			assertThat(context).getBean(CacheManager.class).isInstanceOf(ConcurrentMapCacheManager.class);
+			assertThat(context).doesNotHaveBean(TwoLevelCacheManager.class);
+			assertThat(context).doesNotHaveBean(RedisMessageListenerContainer.class);
+		});
+	}
+
+	@Test
+	void registersInvalidationListenerOnTheInvalidationChannel() {
+
+		this.contextRunner.withUserConfiguration(CachingConfiguration.class)
+			.withPropertyValues("redis.server.cache.invalidation-channel=test:auto-configuration:invalidations")
+			.run(context -> {
+
+				TwoLevelCacheManager cacheManager = context.getBean(TwoLevelCacheManager.class);
+
+				assertThat(cacheManager.getInvalidationChannel()).isEqualTo("test:auto-configuration:invalidations");
+
+				EmbeddedRedisServerConnectionFactory connectionFactory =
+					context.getBean(EmbeddedRedisServerConnectionFactory.class);
+
+				await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+					assertThat(subscriberCount(connectionFactory, cacheManager.getInvalidationChannel()))
+						.isEqualTo(1L));
+			});
+	}
+
+	// PUBSUB NUMSUB replies with a flat list of channel names and subscriber counts
+	private long subscriberCount(EmbeddedRedisServerConnectionFactory connectionFactory, String channel) {
+
+		try (RedisConnection connection = connectionFactory.getConnection()) {
+
+			List<Object> reply = RedisCommandSupport.executeForList(connection, "PUBSUB",
+				RedisCommandSupport.toBytes("NUMSUB", channel));
+
+			return reply.size() == 2 ? Long.parseLong(RedisCommandSupport.toString(reply.get(1))) : 0L;
+		}
+	}
+
+	@EnableConfigurationProperties(RedisProperties.class)
+	static class RedisPropertiesConfiguration { }
+
+	@EnableCaching
+	@EnableConfigurationProperties(RedisProperties.class)
+	static class CachingConfiguration { }
+
+	@EnableCaching
+	@EnableConfigurationProperties(RedisProperties.class)
+	static class CustomCacheManagerConfiguration {
+
+		@Bean
+		CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+
+import io.codeprimate.examples.redis.embedded.connection.EmbeddedRedisServerConnectionFactory;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.aot.test.generate.TestGenerationContext;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.aot.ApplicationContextAotGenerator;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.core.test.tools.CompileWithForkedClassLoader;
+import org.springframework.core.test.tools.TestCompiler;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.javapoet.ClassName;
+
+import redis.embedded.RedisServer;
+
+/**
+ * Integration Tests for {@link EmbeddedRedisServerConfiguration} processed ahead of time with
+ * the {@link ApplicationContextAotGenerator}, compiled with the {@link TestCompiler} and then refreshed
+ * as an AOT-optimized application context.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerConfiguration
+ * @see org.springframework.context.aot.ApplicationContextAotGenerator
+ * @see org.springframework.core.test.tools.TestCompiler
+ * @since 0.1.0
+ */
+@CompileWithForkedClassLoader
+class EmbeddedRedisServerConfigurationAotIntegrationTests {
+
+	private static void configureEnvironment(ConfigurableEnvironment environment) {
+
+		try {
+			environment.getPropertySources()
+				.addFirst(new ResourcePropertySource(new ClassPathResource("application.properties")));
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Failed to load application.properties", e);
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void aotOptimizedApplicationContextStartsEmbeddedRedisServer() {
+
+		AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext();
+
+		configureEnvironment(applicationContext.getEnvironment());
+		applicationContext.register(EmbeddedRedisServerAotTestConfiguration.class);
+
+		TestGenerationContext generationContext = new TestGenerationContext();
+
+		ClassName initializerClassName =
+			new ApplicationContextAotGenerator().processAheadOfTime(applicationContext, generationContext);
+
+		generationContext.writeGeneratedContent();
+
+		assertThat(RuntimeHintsPredicates.resource().forResource("redis-server-2.8.19"))
+			.accepts(generationContext.getRuntimeHints());
+		assertThat(RuntimeHintsPredicates.reflection().onType(EnableEmbeddedRedisServer.class))
+			.accepts(generationContext.getRuntimeHints());
+
+		TestCompiler.forSystem().with(generationContext).compile(compiled -> {
+
+			GenericApplicationContext aotApplicationContext = new GenericApplicationContext();
+
+			configureEnvironment(aotApplicationContext.getEnvironment());
+
+			compiled.getInstance(ApplicationContextInitializer.class, initializerClassName.reflectionName())
+				.initialize(aotApplicationContext);
+
+			aotApplicationContext.refresh();
+
+			try {
+				RedisServer redisServer = aotApplicationContext.getBean(RedisServer.class);
+
+				assertThat(redisServer.isActive()).isTrue();
+
+				EmbeddedRedisServerConnectionFactory connectionFactory =
+					aotApplicationContext.getBean(EmbeddedRedisServerConnectionFactory.class);
+
+				try (RedisConnection connection = connectionFactory.getConnection()) {
+					assertThat(connection.ping()).isEqualTo("PONG");
+				}
+			}
+			finally {
+				aotApplicationContext.close();
+			}
+		});
+	}
+
+	@EnableEmbeddedRedisServer
+	@EnableConfigurationProperties(RedisProperties.class)
+	public static class EmbeddedRedisServerAotTestConfiguration { }
+}
@@ -0,0 +1,47 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+/**
+ * Unit Tests for {@link EmbeddedRedisServerRuntimeHints}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerRuntimeHints
+ * @since 0.1.0
+ */
+class EmbeddedRedisServerRuntimeHintsUnitTests {
+
+	@Test
+	void registersHintsForEmbeddedRedisServer() {
+
+		RuntimeHints hints = new RuntimeHints();
+
+		new EmbeddedRedisServerRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+		assertThat(RuntimeHintsPredicates.resource().forResource("redis-server-2.8.19")).accepts(hints);
+		assertThat(RuntimeHintsPredicates.resource().forResource("redis-server-2.8.19.app")).accepts(hints);
+		assertThat(RuntimeHintsPredicates.resource().forResource("redis/scripts/increment-counter.lua")).accepts(hints);
+		assertThat(RuntimeHintsPredicates.reflection().onType(EnableEmbeddedRedisServer.class)).accepts(hints);
+		assertThat(RuntimeHintsPredicates.serialization().onType(String.class)).accepts(hints);
+	}
+}
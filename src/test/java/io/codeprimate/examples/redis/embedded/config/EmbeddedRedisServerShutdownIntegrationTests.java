@@ -0,0 +1,143 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.codeprimate.examples.redis.embedded.connection.EmbeddedRedisServerConnectionFactory;
+import io.codeprimate.examples.redis.embedded.server.ManagedRedisServer;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+
+import redis.embedded.RedisServer;
+
+/**
+ * Integration Tests for stopping multiple, named embedded Redis servers when the application context is closed.
+ * <p/>
+ * Clients must be stopped before the connection factories, which must be stopped before the servers, and no
+ * Redis server process may outlive the application context.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerFactoryBean
+ * @see io.codeprimate.examples.redis.embedded.server.ManagedRedisServer
+ * @since 0.1.0
+ */
+class EmbeddedRedisServerShutdownIntegrationTests {
+
+	@Test
+	void closingApplicationContextStopsClientsThenServersWithoutOrphanedProcesses() {
+
+		ConfigurableApplicationContext applicationContext =
+			new SpringApplicationBuilder(EmbeddedRedisServerShutdownTestConfiguration.class)
+				.web(WebApplicationType.NONE)
+				.run();
+
+		Map<String, RedisServer> redisServers = applicationContext.getBeansOfType(RedisServer.class);
+
+		assertThat(redisServers).hasSize(2);
+
+		List<ProcessHandle> processHandles = redisServers.values().stream()
+			.map(ManagedRedisServer.class::cast)
+			.map(ManagedRedisServer::getProcessHandle)
+			.map(processHandle -> processHandle.orElseThrow())
+			.toList();
+
+		assertThat(processHandles).allMatch(ProcessHandle::isAlive);
+
+		StopOrderRecorder stopOrderRecorder = applicationContext.getBean(StopOrderRecorder.class);
+
+		applicationContext.close();
+
+		assertThat(stopOrderRecorder.getEvents()).containsExactly(
+			"connection factories running: true",
+			"servers active: true");
+
+		assertThat(redisServers.values()).noneMatch(RedisServer::isActive);
+		assertThat(processHandles).noneMatch(ProcessHandle::isAlive);
+	}
+
+	@EnableEmbeddedRedisServer(name = "one")
+	@EnableEmbeddedRedisServer(name = "two")
+	static class EmbeddedRedisServerShutdownTestConfiguration {
+
+		@Bean
+		StopOrderRecorder stopOrderRecorder(List<EmbeddedRedisServerConnectionFactory> connectionFactories,
+				List<RedisServer> redisServers) {
+
+			return new StopOrderRecorder(connectionFactories, redisServers);
+		}
+	}
+
+	// A Redis client stopped in the same phase as warm-up, monitoring and script loading
+	static class StopOrderRecorder implements SmartLifecycle {
+
+		private volatile boolean running;
+
+		private final List<EmbeddedRedisServerConnectionFactory> connectionFactories;
+
+		private final List<RedisServer> redisServers;
+
+		private final List<String> events = new CopyOnWriteArrayList<>();
+
+		StopOrderRecorder(List<EmbeddedRedisServerConnectionFactory> connectionFactories,
+				List<RedisServer> redisServers) {
+
+			this.connectionFactories = connectionFactories;
+			this.redisServers = redisServers;
+		}
+
+		List<String> getEvents() {
+			return this.events;
+		}
+
+		@Override
+		public int getPhase() {
+			return EmbeddedRedisServerFactoryBean.EMBEDDED_REDIS_CLIENT_PHASE;
+		}
+
+		@Override
+		public boolean isRunning() {
+			return this.running;
+		}
+
+		@Override
+		public void start() {
+			this.running = true;
+		}
+
+		@Override
+		public void stop() {
+
+			this.events.add("connection factories running: %s".formatted(this.connectionFactories.stream()
+				.allMatch(EmbeddedRedisServerConnectionFactory::isRunning)));
+
+			this.events.add("servers active: %s".formatted(this.redisServers.stream()
+				.allMatch(RedisServer::isActive)));
+
+			this.running = false;
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import io.codeprimate.examples.redis.embedded.support.StartupTimeline;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.NonNull;
+
+/**
+ * Integration Tests for {@link EmbeddedRedisServerWarmer}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerWarmer
+ * @see org.springframework.boot.test.context.SpringBootTest
+ * @since 0.1.0
+ */
+@SpringBootTest(
+	classes = EmbeddedRedisServerWarmerIntegrationTests.EmbeddedRedisServerWarmerTestConfiguration.class,
+	properties = {
+		"redis.server.warmup.enabled=true",
+		"redis.server.warmup.iterations=5"
+	}
+)
+@SuppressWarnings("unused")
+class EmbeddedRedisServerWarmerIntegrationTests {
+
+	@Autowired
+	private EmbeddedRedisServerWarmer warmer;
+
+	@Autowired
+	private RedisTemplate<String, Object> embeddedRedisTemplate;
+
+	@Autowired
+	private StartupTimeline embeddedRedisStartupTimeline;
+
+	@Autowired
+	private WarmupObserver warmupObserver;
+
+	@Test
+	void warmupRunsBeforeTheApplicationContextIsRefreshed() {
+
+		assertThat(this.warmupObserver.getWarmupDuration()).isPositive();
+		assertThat(this.warmer.getWarmupDuration()).isEqualTo(this.warmupObserver.getWarmupDuration());
+		assertThat(this.embeddedRedisStartupTimeline.getSteps()).containsKey("warmup");
+	}
+
+	@Test
+	void warmupRemovesItsKeys() {
+
+		assertThat(this.embeddedRedisTemplate.hasKey(EmbeddedRedisServerWarmer.WARMUP_KEY)).isFalse();
+		assertThat(this.embeddedRedisTemplate.hasKey(EmbeddedRedisServerWarmer.WARMUP_KEY + ":hash")).isFalse();
+	}
+
+	@EnableEmbeddedRedisServer
+	@EnableConfigurationProperties(RedisProperties.class)
+	static class EmbeddedRedisServerWarmerTestConfiguration {
+
+		@Bean
+		WarmupObserver warmupObserver(EmbeddedRedisServerWarmer warmer) {
+			return new WarmupObserver(warmer);
+		}
+	}
+
+	// ContextRefreshedEvent is published once all SmartLifecycle beans have started
+	static class WarmupObserver implements ApplicationListener<ContextRefreshedEvent> {
+
+		private final EmbeddedRedisServerWarmer warmer;
+
+		private volatile Duration warmupDuration = Duration.ZERO;
+
+		WarmupObserver(EmbeddedRedisServerWarmer warmer) {
+			this.warmer = warmer;
+		}
+
+		Duration getWarmupDuration() {
+			return this.warmupDuration;
+		}
+
+		@Override
+		public void onApplicationEvent(@NonNull ContextRefreshedEvent event) {
+			this.warmupDuration = this.warmer.getWarmupDuration();
+		}
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.Map;
+import java.util.Properties;
+
+import io.codeprimate.examples.redis.embedded.connection.EmbeddedRedisServerConnectionFactory;
+import io.codeprimate.examples.redis.embedded.core.ShardedRedisTemplate;
+import io.codeprimate.examples.redis.embedded.support.ConsistentHashRing;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import redis.embedded.RedisServer;
+
+/**
+ * Integration Tests for multiple, named embedded Redis servers declared with {@link EnableEmbeddedRedisServers}
+ * and registered by the {@link EmbeddedRedisServersRegistrar}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServersRegistrar
+ * @see io.codeprimate.examples.redis.embedded.config.EnableEmbeddedRedisServers
+ * @see io.codeprimate.examples.redis.embedded.core.ShardedRedisTemplate
+ * @see org.springframework.boot.test.context.SpringBootTest
+ * @since 0.1.0
+ */
+@SpringBootTest(classes = EmbeddedRedisServersIntegrationTests.EmbeddedRedisServersTestConfiguration.class)
+@SuppressWarnings({ "rawtypes", "unchecked", "unused" })
+class EmbeddedRedisServersIntegrationTests {
+
+	private static final int KEY_COUNT = 100;
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@Autowired
+	private ShardedRedisTemplate<String, Object> shardedRedisTemplate;
+
+	@Test
+	void registersServerConnectionFactoryAndTemplatePerNamedServer() {
+
+		RedisServer shardOneServer = this.applicationContext.getBean("shardOneEmbeddedRedisServer", RedisServer.class);
+		RedisServer shardTwoServer = this.applicationContext.getBean("shardTwoEmbeddedRedisServer", RedisServer.class);
+
+		assertThat(shardOneServer.isActive()).isTrue();
+		assertThat(shardTwoServer.isActive()).isTrue();
+		assertThat(shardOneServer.ports()).doesNotContainAnyElementsOf(shardTwoServer.ports());
+
+		assertWiring("shardOne", shardOneServer);
+		assertWiring("shardTwo", shardTwoServer);
+
+		assertThat(this.applicationContext.getBean(EmbeddedRedisServersRegistrar.SHARDED_REDIS_TEMPLATE_BEAN_NAME))
+			.isSameAs(this.shardedRedisTemplate);
+
+		assertThat(this.shardedRedisTemplate.getShards()).containsOnly(
+			Map.entry("shardOne", template("shardOne")),
+			Map.entry("shardTwo", template("shardTwo")));
+	}
+
+	private void assertWiring(String name, RedisServer redisServer) {
+
+		EmbeddedRedisServerConnectionFactory connectionFactory = this.applicationContext
+			.getBean(name + "EmbeddedRedisConnectionFactory", EmbeddedRedisServerConnectionFactory.class);
+
+		assertThat(template(name).getConnectionFactory()).isSameAs(connectionFactory);
+
+		try (RedisConnection connection = connectionFactory.getConnection()) {
+
+			Properties config = connection.serverCommands().getConfig("port");
+
+			assertThat(config).isNotNull();
+			assertThat(Integer.valueOf(config.getProperty("port"))).isEqualTo(redisServer.ports().get(0));
+		}
+	}
+
+	@Test
+	void routesKeysToTheShardPickedByTheConsistentHashRing() {
+
+		RedisTemplate<String, Object> shardOne = template("shardOne");
+		RedisTemplate<String, Object> shardTwo = template("shardTwo");
+
+		ConsistentHashRing<String> ring = new ConsistentHashRing<>(Map.of("shardOne", "shardOne",
+			"shardTwo", "shardTwo"));
+
+		RedisSerializer<String> keySerializer = (RedisSerializer<String>) shardOne.getKeySerializer();
+
+		for (int index = 0; index < KEY_COUNT; index++) {
+
+			String key = "routing:key:%d".formatted(index);
+			String shardName = this.shardedRedisTemplate.getShardName(key);
+
+			assertThat(shardName).isEqualTo(ring.getNodeName(keySerializer.serialize(key)));
+
+			this.shardedRedisTemplate.set(key, "value-%d".formatted(index));
+
+			RedisTemplate<String, Object> owner = "shardOne".equals(shardName) ? shardOne : shardTwo;
+			RedisTemplate<String, Object> other = owner == shardOne ? shardTwo : shardOne;
+
+			assertThat(owner.hasKey(key)).isTrue();
+			assertThat(other.hasKey(key)).isFalse();
+		}
+
+		assertThat(shardOne.keys("routing:key:*")).isNotEmpty();
+		assertThat(shardTwo.keys("routing:key:*")).isNotEmpty();
+	}
+
+	@Test
+	void rejectsDuplicateServerNames() {
+
+		assertThatIllegalStateException()
+			.isThrownBy(() -> registerBeanDefinitions(DuplicateNamesConfiguration.class))
+			.withMessage("Embedded Redis server name [shardOne] is not unique");
+	}
+
+	@Test
+	void rejectsDuplicateServerPorts() {
+
+		assertThatIllegalStateException()
+			.isThrownBy(() -> registerBeanDefinitions(DuplicatePortsConfiguration.class))
+			.withMessage("Embedded Redis server port [16379] is not unique");
+	}
+
+	@Test
+	void acceptsMultipleServersWithTheDefaultPort() {
+
+		DefaultListableBeanFactory registry = registerBeanDefinitions(EmbeddedRedisServersTestConfiguration.class);
+
+		assertThat(registry.getBeanDefinitionNames()).containsExactlyInAnyOrder(
+			"shardOneEmbeddedRedisServer", "shardOneEmbeddedRedisConnectionFactory", "shardOneEmbeddedRedisTemplate",
+			"shardTwoEmbeddedRedisServer", "shardTwoEmbeddedRedisConnectionFactory", "shardTwoEmbeddedRedisTemplate",
+			EmbeddedRedisServersRegistrar.SHARDED_REDIS_TEMPLATE_BEAN_NAME);
+	}
+
+	private DefaultListableBeanFactory registerBeanDefinitions(Class<?> configurationClass) {
+
+		DefaultListableBeanFactory registry = new DefaultListableBeanFactory();
+
+		new EmbeddedRedisServersRegistrar().registerBeanDefinitions(AnnotationMetadata.introspect(configurationClass),
+			registry);
+
+		return registry;
+	}
+
+	private RedisTemplate<String, Object> template(String name) {
+		return this.applicationContext.getBean(name + "EmbeddedRedisTemplate", RedisTemplate.class);
+	}
+
+	@EnableEmbeddedRedisServer(name = "shardOne")
+	@EnableEmbeddedRedisServer(name = "shardTwo")
+	static class EmbeddedRedisServersTestConfiguration { }
+
+	@EnableEmbeddedRedisServer(name = "shardOne")
+	@EnableEmbeddedRedisServer(name = "shardOne")
+	static class DuplicateNamesConfiguration { }
+
+	@EnableEmbeddedRedisServer(name = "shardOne", port = 16379)
+	@EnableEmbeddedRedisServer(name = "shardTwo", port = 16379)
+	static class DuplicatePortsConfiguration { }
+}
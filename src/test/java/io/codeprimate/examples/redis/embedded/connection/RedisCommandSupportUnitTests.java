@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.redis.connection.RedisConnection;
+
+/**
+ * Unit Tests for {@link RedisCommandSupport} using a {@link RedisConnection} other than a Lettuce connection
+ * (e.g. Jedis).
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.connection.RedisCommandSupport
+ * @see org.springframework.data.redis.connection.RedisConnection
+ * @since 0.1.0
+ */
+class RedisCommandSupportUnitTests {
+
+	@Test
+	void executeForIntegerRunsCommandWithoutTypeHint() {
+
+		RedisConnection connection = mock(RedisConnection.class);
+
+		when(connection.execute(eq("MEMORY"), any(byte[][].class))).thenReturn(1024L);
+
+		assertThat(RedisCommandSupport.executeForInteger(connection, "MEMORY",
+			RedisCommandSupport.toBytes("USAGE", "key"))).isEqualTo(1024L);
+
+		verify(connection).execute(eq("MEMORY"), any(byte[][].class));
+	}
+
+	@Test
+	void executeForIntegerConvertsBinaryReply() {
+
+		RedisConnection connection = mock(RedisConnection.class);
+
+		when(connection.execute(eq("OBJECT"), any(byte[][].class)))
+			.thenReturn(RedisCommandSupport.toBytes("7"));
+
+		assertThat(RedisCommandSupport.executeForInteger(connection, "OBJECT",
+			RedisCommandSupport.toBytes("FREQ", "key"))).isEqualTo(7L);
+	}
+
+	@Test
+	void executeForStatusConvertsBinaryReply() {
+
+		RedisConnection connection = mock(RedisConnection.class);
+
+		when(connection.execute(eq("SLOWLOG"), any(byte[][].class))).thenReturn(RedisCommandSupport.toBytes("OK"));
+
+		assertThat(RedisCommandSupport.executeForStatus(connection, "SLOWLOG",
+			RedisCommandSupport.toBytes("RESET"))).isEqualTo("OK");
+	}
+
+	@Test
+	void executeForListReturnsEmptyListForNonListReply() {
+
+		RedisConnection connection = mock(RedisConnection.class);
+
+		when(connection.execute(eq("SLOWLOG"), any(byte[][].class))).thenReturn(null);
+
+		assertThat(RedisCommandSupport.executeForList(connection, "SLOWLOG",
+			RedisCommandSupport.toBytes("GET"))).isEmpty();
+
+		when(connection.execute(eq("SLOWLOG"), any(byte[][].class))).thenReturn(List.of(1L, 2L));
+
+		assertThat(RedisCommandSupport.executeForList(connection, "SLOWLOG",
+			RedisCommandSupport.toBytes("GET"))).containsExactly(1L, 2L);
+	}
+}
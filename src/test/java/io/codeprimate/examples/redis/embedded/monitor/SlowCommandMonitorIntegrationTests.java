@@ -0,0 +1,151 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.monitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+import io.codeprimate.examples.redis.embedded.config.EnableEmbeddedRedisServer;
+import io.codeprimate.examples.redis.embedded.connection.EmbeddedRedisServerConnectionFactory;
+import io.codeprimate.examples.redis.embedded.monitor.SlowCommandReport.SlowCommand;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+
+/**
+ * Integration Tests for {@link SlowCommandMonitor} and {@link SlowCommandReport} with a budget smaller than
+ * the configured slowlog threshold.
+ * <p/>
+ * A slow command is simulated with a Lua script busy waiting on {@literal TIME}, since {@literal DEBUG SLEEP}
+ * is disabled by default ({@literal enable-debug-command no}) as of Redis 7.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.monitor.SlowCommandMonitor
+ * @see io.codeprimate.examples.redis.embedded.monitor.SlowCommandReport
+ * @see org.springframework.boot.test.context.SpringBootTest
+ * @since 0.1.0
+ */
+@SpringBootTest(
+	classes = SlowCommandMonitorIntegrationTests.SlowCommandMonitorTestConfiguration.class,
+	properties = {
+		"redis.server.monitor.enabled=true",
+		"redis.server.monitor.budget=20ms",
+		"redis.server.monitor.harvest-interval=0s",
+		"redis.server.monitor.latency-threshold=10ms",
+		"redis.server.monitor.slowlog-threshold=1s"
+	}
+)
+@SuppressWarnings("unused")
+class SlowCommandMonitorIntegrationTests {
+
+	private static final Duration BUDGET = Duration.ofMillis(20);
+	private static final Duration SLOW_COMMAND_DURATION = Duration.ofMillis(50);
+
+	private static final String BUSY_WAIT_SCRIPT = """
+		local start = redis.call('TIME')
+		local deadline = tonumber(start[1]) * 1000000 + tonumber(start[2]) + tonumber(ARGV[1])
+		local now
+		repeat
+			now = redis.call('TIME')
+		until tonumber(now[1]) * 1000000 + tonumber(now[2]) >= deadline
+		return 1
+		""";
+
+	@Autowired
+	private EmbeddedRedisServerConnectionFactory connectionFactory;
+
+	@Autowired
+	private SlowCommandMonitor monitor;
+
+	@BeforeEach
+	void drainPreviouslyHarvestedEntries() {
+		this.monitor.drain();
+	}
+
+	private void runSlowCommand() {
+
+		try (RedisConnection connection = this.connectionFactory.getConnection()) {
+			byte[] script = BUSY_WAIT_SCRIPT.getBytes(StandardCharsets.UTF_8);
+			byte[] microseconds = String.valueOf(SLOW_COMMAND_DURATION.toNanos() / 1_000L)
+				.getBytes(StandardCharsets.UTF_8);
+
+			connection.scriptingCommands().eval(script, ReturnType.INTEGER, 0, microseconds);
+		}
+	}
+
+	@Test
+	void slowlogThresholdIsLoweredToTheBudget() {
+
+		try (RedisConnection connection = this.connectionFactory.getConnection()) {
+
+			Properties config = connection.serverCommands().getConfig("slowlog-log-slower-than");
+
+			assertThat(config).isNotNull();
+			assertThat(config.getProperty("slowlog-log-slower-than"))
+				.isEqualTo(String.valueOf(BUDGET.toNanos() / 1_000L));
+		}
+	}
+
+	@Test
+	void slowCommandIsReportedAndFailsTheBudget() {
+
+		runSlowCommand();
+
+		SlowCommandReport report = this.monitor.drain();
+
+		List<SlowCommand> slowCommands = report.slowCommandsExceeding(BUDGET);
+
+		assertThat(slowCommands).hasSize(1);
+		assertThat(slowCommands.get(0).command()).isEqualToIgnoringCase("EVAL");
+		assertThat(slowCommands.get(0).duration()).isGreaterThanOrEqualTo(SLOW_COMMAND_DURATION);
+
+		assertThatExceptionOfType(AssertionError.class)
+			.isThrownBy(() -> report.assertWithinBudget(BUDGET))
+			.withMessageContaining("exceeded the budget of [%d] ms".formatted(BUDGET.toMillis()));
+	}
+
+	@Test
+	void latencyEventsAreReportedOnlyOnce() {
+
+		runSlowCommand();
+
+		SlowCommandReport report = this.monitor.drain();
+
+		assertThat(report.latencyEvents()).isNotEmpty();
+
+		SlowCommandReport nextReport = this.monitor.drain();
+
+		assertThat(nextReport.latencyEvents()).isEmpty();
+		assertThat(nextReport.slowCommands()).isEmpty();
+		assertThat(nextReport.isEmpty()).isTrue();
+	}
+
+	@EnableEmbeddedRedisServer
+	@EnableConfigurationProperties(RedisProperties.class)
+	static class SlowCommandMonitorTestConfiguration { }
+}
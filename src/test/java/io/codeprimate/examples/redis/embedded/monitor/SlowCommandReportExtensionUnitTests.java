@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.monitor;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import io.codeprimate.examples.redis.embedded.config.EmbeddedRedisServerMonitorProperties;
+import io.codeprimate.examples.redis.embedded.monitor.SlowCommandReport.SlowCommand;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.lang.NonNull;
+
+/**
+ * Unit Tests for {@link SlowCommandReportExtension}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.monitor.SlowCommandReportExtension
+ * @see org.junit.jupiter.api.extension.ExtensionContext
+ * @since 0.1.0
+ */
+class SlowCommandReportExtensionUnitTests {
+
+	private static final Duration BUDGET = Duration.ofMillis(20);
+
+	private static final SlowCommandReport SLOW_REPORT = new SlowCommandReport(List.of(new SlowCommand(1L,
+		Instant.now(), Duration.ofMillis(50), List.of("EVAL", "return 1", "0"), "127.0.0.1:6379")), List.of());
+
+	private static final SlowCommandReport FAST_REPORT = new SlowCommandReport(List.of(new SlowCommand(2L,
+		Instant.now(), Duration.ofMillis(5), List.of("GET", "key"), "127.0.0.1:6379")), List.of());
+
+	private ExtensionContext mockExtensionContext() {
+
+		ExtensionContext context = mock(ExtensionContext.class);
+
+		doReturn(SlowCommandReportExtensionUnitTests.class).when(context).getRequiredTestClass();
+
+		return context;
+	}
+
+	private SlowCommandMonitor mockMonitor(SlowCommandReport report) {
+
+		SlowCommandMonitor monitor = mock(SlowCommandMonitor.class);
+
+		doReturn(report).when(monitor).writeReport(SlowCommandReportExtensionUnitTests.class.getName());
+
+		return monitor;
+	}
+
+	private GenericApplicationContext newApplicationContext(SlowCommandMonitor monitor, Duration budget) {
+
+		GenericApplicationContext applicationContext = new GenericApplicationContext();
+
+		if (monitor != null) {
+			applicationContext.registerBean(SlowCommandMonitor.class, () -> monitor);
+		}
+
+		applicationContext.registerBean(EmbeddedRedisServerMonitorProperties.class, () ->
+			new EmbeddedRedisServerMonitorProperties(budget, true, null, null, null, null, null));
+
+		applicationContext.refresh();
+
+		return applicationContext;
+	}
+
+	@Test
+	void writesReportNamedAfterTestClass() {
+
+		SlowCommandMonitor monitor = mockMonitor(FAST_REPORT);
+
+		try (GenericApplicationContext applicationContext = newApplicationContext(monitor, BUDGET)) {
+
+			assertThatNoException().isThrownBy(() ->
+				new TestSlowCommandReportExtension(applicationContext).afterAll(mockExtensionContext()));
+
+			verify(monitor).writeReport(SlowCommandReportExtensionUnitTests.class.getName());
+		}
+	}
+
+	@Test
+	void failsTestClassWhenCommandExceedsBudget() {
+
+		SlowCommandMonitor monitor = mockMonitor(SLOW_REPORT);
+
+		try (GenericApplicationContext applicationContext = newApplicationContext(monitor, BUDGET)) {
+
+			SlowCommandReportExtension extension = new TestSlowCommandReportExtension(applicationContext);
+
+			assertThatExceptionOfType(AssertionError.class)
+				.isThrownBy(() -> extension.afterAll(mockExtensionContext()))
+				.withMessageContaining("exceeded the budget of [%d] ms".formatted(BUDGET.toMillis()));
+		}
+	}
+
+	@Test
+	void writesReportWithoutFailingWhenNoBudgetIsConfigured() {
+
+		SlowCommandMonitor monitor = mockMonitor(SLOW_REPORT);
+
+		try (GenericApplicationContext applicationContext = newApplicationContext(monitor, null)) {
+
+			assertThatNoException().isThrownBy(() ->
+				new TestSlowCommandReportExtension(applicationContext).afterAll(mockExtensionContext()));
+
+			verify(monitor).writeReport(SlowCommandReportExtensionUnitTests.class.getName());
+		}
+	}
+
+	@Test
+	void doesNothingWhenMonitorIsDisabled() {
+
+		ExtensionContext context = mockExtensionContext();
+
+		try (GenericApplicationContext applicationContext = newApplicationContext(null, BUDGET)) {
+
+			assertThatNoException().isThrownBy(() ->
+				new TestSlowCommandReportExtension(applicationContext).afterAll(context));
+
+			verifyNoInteractions(context);
+		}
+	}
+
+	static class TestSlowCommandReportExtension extends SlowCommandReportExtension {
+
+		private final ApplicationContext applicationContext;
+
+		TestSlowCommandReportExtension(ApplicationContext applicationContext) {
+			this.applicationContext = applicationContext;
+		}
+
+		@Override
+		protected @NonNull ApplicationContext getApplicationContext(@NonNull ExtensionContext context) {
+			return this.applicationContext;
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.script;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import io.codeprimate.examples.redis.embedded.config.EnableEmbeddedRedisServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+/**
+ * Integration Tests for {@link RedisScriptExecutor} verifying that preloaded scripts run with {@literal EVALSHA},
+ * and that scripts run after the Redis server's script cache has been flushed, with and without a pipeline.
+ * <p/>
+ * The script cache is reloaded after each test, since the (cached) application context is shared by all tests.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.script.RedisScriptExecutor
+ * @see io.codeprimate.examples.redis.embedded.script.RedisScriptRegistry
+ * @see org.springframework.boot.test.context.SpringBootTest
+ * @since 0.1.0
+ */
+@SpringBootTest(classes = RedisScriptExecutorIntegrationTests.RedisScriptExecutorTestConfiguration.class)
+@SuppressWarnings("unused")
+class RedisScriptExecutorIntegrationTests {
+
+	private static final String COUNTER_KEY = "test:script:counter";
+
+	private static final String COUNTER_SCRIPT = "return redis.call('INCRBY', KEYS[1], ARGV[1])";
+
+	@Autowired
+	private RedisScriptRegistry scriptRegistry;
+
+	@Autowired
+	private RedisTemplate<String, Object> embeddedRedisTemplate;
+
+	@AfterEach
+	void deleteCounter() {
+		this.embeddedRedisTemplate.delete(COUNTER_KEY);
+	}
+
+	@AfterEach
+	void reloadScriptCache() {
+		this.embeddedRedisTemplate.execute((RedisCallback<Object>) connection -> {
+			this.scriptRegistry.getScriptNames().forEach(name -> connection.scriptingCommands()
+				.scriptLoad(this.scriptRegistry.getExecutor(name, Object.class).getScript().getScriptAsString()
+					.getBytes(StandardCharsets.UTF_8)));
+			return null;
+		});
+	}
+
+	private void flushScriptCache() {
+		this.embeddedRedisTemplate.execute((RedisCallback<Object>) connection -> {
+			connection.scriptingCommands().scriptFlush();
+			return null;
+		});
+	}
+
+	private boolean isLoaded(RedisScriptExecutor<?> executor) {
+
+		List<Boolean> exists = this.embeddedRedisTemplate.execute((RedisCallback<List<Boolean>>) connection ->
+			connection.scriptingCommands().scriptExists(executor.getSha1()));
+
+		return exists != null && Boolean.TRUE.equals(exists.get(0));
+	}
+
+	@Test
+	void scriptsAreLoadedOnStartup() {
+
+		RedisScriptExecutor<Long> incrementCounter = this.scriptRegistry.getExecutor("increment-counter", Long.class);
+
+		assertThat(isLoaded(incrementCounter)).isTrue();
+	}
+
+	@Test
+	void preloadedScriptExecutesWithEvalSha() {
+
+		assertThat(this.scriptRegistry.getScriptNames()).contains("increment-counter");
+
+		RedisScriptExecutor<Long> incrementCounter = this.scriptRegistry.getExecutor("increment-counter", Long.class);
+
+		assertThat(incrementCounter.execute(List.of(COUNTER_KEY), 2, 60)).isEqualTo(2L);
+		assertThat(incrementCounter.execute(List.of(COUNTER_KEY), 3, 60)).isEqualTo(5L);
+
+		List<Object> results = this.embeddedRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+			incrementCounter.execute(connection, List.of(COUNTER_KEY), 1, 60);
+			incrementCounter.execute(connection, List.of(COUNTER_KEY), 1, 60);
+			return null;
+		});
+
+		assertThat(results).containsExactly(6L, 7L);
+	}
+
+	@Test
+	void executeFallsBackToEvalAfterScriptFlush() {
+
+		RedisScriptExecutor<Long> incrementCounter = this.scriptRegistry.getExecutor("increment-counter", Long.class);
+
+		flushScriptCache();
+
+		assertThat(incrementCounter.execute(List.of(COUNTER_KEY), 2, 60)).isEqualTo(2L);
+		assertThat(isLoaded(incrementCounter)).isTrue();
+	}
+
+	@Test
+	void executeWithConnectionFallsBackToEvalAfterScriptFlush() {
+
+		RedisScriptExecutor<Long> incrementCounter = this.scriptRegistry.getExecutor("increment-counter", Long.class);
+
+		flushScriptCache();
+
+		try (RedisConnection connection = this.embeddedRedisTemplate.getRequiredConnectionFactory().getConnection()) {
+			assertThat(incrementCounter.execute(connection, List.of(COUNTER_KEY), 3, 60)).isEqualTo(3L);
+		}
+
+		assertThat(isLoaded(incrementCounter)).isTrue();
+	}
+
+	@Test
+	void pipelinedExecuteLoadsScriptMissingFromTheScriptCache() {
+
+		// An executor created by this test only, so it has not run in a pipeline before, and is not registered
+		// with the shared RedisScriptRegistry
+		RedisScriptExecutor<Long> counter = new RedisScriptExecutor<>("pipelined-counter",
+			new DefaultRedisScript<>(COUNTER_SCRIPT, Long.class), this.embeddedRedisTemplate);
+
+		flushScriptCache();
+
+		assertThat(isLoaded(counter)).isFalse();
+
+		List<Object> results = this.embeddedRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+			counter.execute(connection, List.of(COUNTER_KEY), 1);
+			counter.execute(connection, List.of(COUNTER_KEY), 2);
+			return null;
+		});
+
+		assertThat(results).containsExactly(1L, 3L);
+		assertThat(isLoaded(counter)).isTrue();
+	}
+
+	@EnableEmbeddedRedisServer
+	@EnableConfigurationProperties(RedisProperties.class)
+	static class RedisScriptExecutorTestConfiguration { }
+}
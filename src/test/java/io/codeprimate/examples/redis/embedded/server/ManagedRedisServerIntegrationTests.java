@@ -0,0 +1,166 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import redis.embedded.RedisExecProvider;
+import redis.embedded.util.OsArchitecture;
+
+/**
+ * Integration Tests for {@link ManagedRedisServer} stopping forked Redis server processes, in parallel,
+ * and forcibly killing a process that does not exit within the shutdown timeout.
+ * <p/>
+ * An unresponsive Redis server is simulated by suspending its process with {@literal SIGSTOP}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.server.ManagedRedisServer
+ * @since 0.1.0
+ */
+class ManagedRedisServerIntegrationTests {
+
+	private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(1);
+
+	private static final String REDIS_SERVER_EXECUTABLE_PROPERTY = "redis.server.exec";
+
+	private final List<ManagedRedisServer> servers = new ArrayList<>();
+
+	private static RedisExecProvider newRedisExecProvider() throws IOException {
+
+		Properties properties = new Properties();
+
+		try (InputStream in = ManagedRedisServerIntegrationTests.class.getResourceAsStream("/application.properties")) {
+			if (in != null) {
+				properties.load(in);
+			}
+		}
+
+		RedisExecProvider redisExecProvider = RedisExecProvider.defaultProvider();
+		String executable = properties.getProperty(REDIS_SERVER_EXECUTABLE_PROPERTY);
+
+		if (executable != null) {
+			OsArchitecture osArchitecture = OsArchitecture.detect();
+			redisExecProvider.override(osArchitecture.os(), osArchitecture.arch(), executable);
+		}
+
+		return redisExecProvider;
+	}
+
+	private static int availablePort() throws IOException {
+
+		try (ServerSocket serverSocket = new ServerSocket(0)) {
+			return serverSocket.getLocalPort();
+		}
+	}
+
+	private static void suspend(ProcessHandle processHandle) throws Exception {
+
+		Process kill = new ProcessBuilder("kill", "-STOP", String.valueOf(processHandle.pid())).start();
+
+		assertThat(kill.waitFor(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(kill.exitValue()).isZero();
+	}
+
+	@AfterEach
+	void stopServers() {
+		this.servers.forEach(ManagedRedisServer::stop);
+	}
+
+	private ManagedRedisServer startServer() throws IOException {
+
+		ManagedRedisServer server = new ManagedRedisServer(newRedisExecProvider(), availablePort(), SHUTDOWN_TIMEOUT);
+
+		this.servers.add(server);
+		server.start();
+
+		assertThat(server.isActive()).isTrue();
+		assertThat(server.getProcessHandle()).isPresent();
+
+		return server;
+	}
+
+	@Test
+	void stopShutsDownServerGracefully() throws Exception {
+
+		ManagedRedisServer server = startServer();
+		ProcessHandle processHandle = server.getProcessHandle().orElseThrow();
+
+		long startTime = System.nanoTime();
+
+		server.stop();
+
+		assertThat(Duration.ofNanos(System.nanoTime() - startTime)).isLessThan(SHUTDOWN_TIMEOUT);
+		assertThat(processHandle.isAlive()).isFalse();
+		assertThat(server.isActive()).isFalse();
+		assertThat(server.getProcessHandle()).isEmpty();
+	}
+
+	@Test
+	void stopKillsServerNotExitingWithinShutdownTimeout() throws Exception {
+
+		ManagedRedisServer server = startServer();
+		ProcessHandle processHandle = server.getProcessHandle().orElseThrow();
+
+		suspend(processHandle);
+
+		long startTime = System.nanoTime();
+
+		server.stop();
+
+		assertThat(Duration.ofNanos(System.nanoTime() - startTime)).isGreaterThanOrEqualTo(SHUTDOWN_TIMEOUT);
+		assertThat(processHandle.isAlive()).isFalse();
+		assertThat(server.isActive()).isFalse();
+	}
+
+	@Test
+	void stopAsyncStopsServersInParallel() throws Exception {
+
+		ManagedRedisServer serverOne = startServer();
+		ManagedRedisServer serverTwo = startServer();
+
+		ProcessHandle processHandleOne = serverOne.getProcessHandle().orElseThrow();
+		ProcessHandle processHandleTwo = serverTwo.getProcessHandle().orElseThrow();
+
+		// Each suspended server takes at least twice the shutdown timeout to stop: one for SHUTDOWN NOSAVE to time out,
+		// and one waiting for the process to exit before it is killed
+		suspend(processHandleOne);
+		suspend(processHandleTwo);
+
+		long startTime = System.nanoTime();
+
+		CompletableFuture.allOf(serverOne.stopAsync(), serverTwo.stopAsync()).get(30, TimeUnit.SECONDS);
+
+		Duration duration = Duration.ofNanos(System.nanoTime() - startTime);
+
+		assertThat(duration).isGreaterThanOrEqualTo(SHUTDOWN_TIMEOUT.multipliedBy(2));
+		assertThat(duration).isLessThan(SHUTDOWN_TIMEOUT.multipliedBy(4));
+		assertThat(processHandleOne.isAlive()).isFalse();
+		assertThat(processHandleTwo.isAlive()).isFalse();
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link ConsistentHashRing}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.support.ConsistentHashRing
+ * @since 0.1.0
+ */
+class ConsistentHashRingUnitTests {
+
+	private static final int KEY_COUNT = 10_000;
+
+	private static byte[] key(int index) {
+		return "key:%d".formatted(index).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static Map<String, String> nodes(String... names) {
+
+		Map<String, String> nodes = new LinkedHashMap<>();
+
+		for (String name : names) {
+			nodes.put(name, name.toUpperCase());
+		}
+
+		return nodes;
+	}
+
+	@Test
+	void getNodeIsConsistentAcrossRings() {
+
+		ConsistentHashRing<String> ringOne = new ConsistentHashRing<>(nodes("one", "two", "three"));
+		ConsistentHashRing<String> ringTwo = new ConsistentHashRing<>(nodes("three", "one", "two"));
+
+		for (int index = 0; index < KEY_COUNT; index++) {
+			assertThat(ringOne.getNodeName(key(index))).isEqualTo(ringTwo.getNodeName(key(index)));
+			assertThat(ringOne.getNode(key(index))).isEqualTo(ringOne.getNodeName(key(index)).toUpperCase());
+		}
+	}
+
+	@Test
+	void getNodeDistributesKeysEvenly() {
+
+		ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodes("one", "two", "three"));
+
+		Map<String, Integer> keysPerNode = new HashMap<>();
+
+		for (int index = 0; index < KEY_COUNT; index++) {
+			keysPerNode.merge(ring.getNodeName(key(index)), 1, Integer::sum);
+		}
+
+		assertThat(keysPerNode).hasSize(3);
+		assertThat(keysPerNode.values()).allSatisfy(keys -> assertThat(keys).isBetween(2_500, 4_200));
+	}
+
+	@Test
+	void addingNodeOnlyRemapsKeysToNewNode() {
+
+		ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodes("one", "two", "three"));
+		ConsistentHashRing<String> grownRing = new ConsistentHashRing<>(nodes("one", "two", "three", "four"));
+
+		for (int index = 0; index < KEY_COUNT; index++) {
+			String nodeName = grownRing.getNodeName(key(index));
+			if (!"four".equals(nodeName)) {
+				assertThat(nodeName).isEqualTo(ring.getNodeName(key(index)));
+			}
+		}
+	}
+}
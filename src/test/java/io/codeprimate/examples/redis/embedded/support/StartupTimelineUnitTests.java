@@ -0,0 +1,113 @@
+/*
+ *  Copyright 2024 Author or Authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.codeprimate.examples.redis.embedded.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * Unit Tests for {@link StartupTimeline} using a {@link BufferingApplicationStartup}.
+ *
+ * @author John Blum
+ * @see io.codeprimate.examples.redis.embedded.support.StartupTimeline
+ * @see org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup
+ * @since 0.1.0
+ */
+class StartupTimelineUnitTests {
+
+	private final BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(64);
+
+	private final StartupTimeline startupTimeline = new StartupTimeline(this.applicationStartup);
+
+	private List<String> bufferedStepNames() {
+
+		return this.applicationStartup.getBufferedTimeline().getEvents().stream()
+			.map(TimelineEvent::getStartupStep)
+			.map(StartupStep::getName)
+			.toList();
+	}
+
+	@Test
+	void recordsPrefixedStepsInOrder() {
+
+		int port = this.startupTimeline.record("port.resolve", () -> 6379);
+
+		this.startupTimeline.record("exec.resolve", () -> { });
+		this.startupTimeline.record("server.fork", () -> { });
+		this.startupTimeline.record("server.ready", () -> { });
+
+		assertThat(port).isEqualTo(6379);
+
+		assertThat(bufferedStepNames()).containsExactly("embedded-redis.port.resolve", "embedded-redis.exec.resolve",
+			"embedded-redis.server.fork", "embedded-redis.server.ready");
+
+		assertThat(this.startupTimeline.getSteps())
+			.containsOnlyKeys("port.resolve", "exec.resolve", "server.fork", "server.ready");
+		assertThat(this.startupTimeline.getSteps().keySet())
+			.containsExactly("port.resolve", "exec.resolve", "server.fork", "server.ready");
+	}
+
+	@Test
+	void tagsStepsWithTheirDuration() {
+
+		this.startupTimeline.record("server.ready", () -> { });
+
+		TimelineEvent event = this.applicationStartup.getBufferedTimeline().getEvents().get(0);
+
+		assertThat(event.getStartupStep().getTags())
+			.anySatisfy(tag -> {
+				assertThat(tag.getKey()).isEqualTo("duration");
+				assertThat(Duration.parse(tag.getValue()))
+					.isEqualTo(this.startupTimeline.getSteps().get("server.ready"));
+			});
+	}
+
+	@Test
+	void mergesRepeatedStepsAndSumsTheTotalDuration() {
+
+		this.startupTimeline.record("warmup", () -> { });
+		this.startupTimeline.record("scripts.load", () -> { });
+		this.startupTimeline.record("warmup", () -> { });
+
+		assertThat(bufferedStepNames()).containsExactly("embedded-redis.warmup", "embedded-redis.scripts.load",
+			"embedded-redis.warmup");
+
+		assertThat(this.startupTimeline.getSteps().keySet()).containsExactly("warmup", "scripts.load");
+		assertThat(this.startupTimeline.getTotalDuration())
+			.isEqualTo(this.startupTimeline.getSteps().values().stream().reduce(Duration.ZERO, Duration::plus));
+		assertThat(this.startupTimeline.getSummary()).contains("warmup", "scripts.load");
+	}
+
+	@Test
+	void recordsFailedSteps() {
+
+		assertThatIllegalStateException().isThrownBy(() -> this.startupTimeline.record("server.ready", () -> {
+			throw new IllegalStateException("TEST");
+		}));
+
+		assertThat(bufferedStepNames()).containsExactly("embedded-redis.server.ready");
+		assertThat(this.startupTimeline.getSteps()).containsOnlyKeys("server.ready");
+	}
+}
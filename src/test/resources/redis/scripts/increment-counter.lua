@@ -0,0 +1,8 @@
+-- Increments the counter stored at KEYS[1] by ARGV[1], expiring the counter ARGV[2] seconds after it was created
+local count = redis.call('INCRBY', KEYS[1], ARGV[1])
+
+if count == tonumber(ARGV[1]) then
+	redis.call('EXPIRE', KEYS[1], ARGV[2])
+end
+
+return count